@@ -0,0 +1,55 @@
+package deflate.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+
+// JMH 를 GC 프로파일러와 함께 실행하고, 입력 전체를 처리하는 벤치마크는 MB/s 와 바이트당 할당량으로 환산해 출력
+// 인자는 JMH 옵션 그대로 (예: LZ77Benchmark -p corpus=TEXT)
+public class BenchmarkMain {
+
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+
+        Map<Corpus, Integer> sizes = new EnumMap<>(Corpus.class);
+        for (Corpus corpus : Corpus.values()) {
+            sizes.put(corpus, corpus.generate().length);
+        }
+
+        System.out.println();
+        System.out.printf("%-60s %12s %14s%n", "Benchmark", "MB/s", "alloc B/byte");
+        for (RunResult result : results) {
+            String name = result.getParams().getBenchmark();
+            // 허프만 트리와 블록 헤더는 입력 크기와 무관한 고정 크기 작업이라 환산하지 않음
+            if (name.contains("HuffmanBenchmark") || name.contains("HeaderDecoderBenchmark")) {
+                continue;
+            }
+            int bytes = sizes.get(Corpus.valueOf(result.getParams().getParam("corpus")));
+            double opsPerSecond = result.getPrimaryResult().getScore();
+            Result allocation = result.getSecondaryResults().get(ALLOCATION);
+            double allocationPerByte = allocation == null ? Double.NaN : allocation.getScore() / bytes;
+
+            StringBuilder label = new StringBuilder(name.substring(name.lastIndexOf('.', name.lastIndexOf('.') - 1) + 1));
+            for (String key : result.getParams().getParamsKeys()) {
+                label.append(' ').append(key).append('=').append(result.getParams().getParam(key));
+            }
+            System.out.printf("%-60s %12.1f %14.3f%n", label, opsPerSecond * bytes / 1e6, allocationPerByte);
+        }
+    }
+}
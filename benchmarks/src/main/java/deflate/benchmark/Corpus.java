@@ -0,0 +1,99 @@
+package deflate.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+// 벤치마크 입력 - 고정 시드로 생성해 실행마다 같은 데이터
+public enum Corpus {
+    // 자주 쓰는 단어가 많이 나오는 영문 텍스트
+    TEXT {
+        @Override
+        byte[] generate(Random random) {
+            String[] words = ("the of and to in is that for it as was with be by on not he this are or his from "
+                    + "at which but have an they you were her she there been one all we their has would when if "
+                    + "compression huffman window literal distance length block stream buffer symbol table").split(" ");
+            StringBuilder text = new StringBuilder(SIZE + 64);
+            int line = 0;
+            while (text.length() < SIZE) {
+                // 앞쪽 단어일수록 자주 나오도록 치우친 분포
+                double u = random.nextDouble();
+                text.append(words[(int) (u * u * u * words.length)]);
+                if (++line % 12 == 0) {
+                    text.append(".\n");
+                } else {
+                    text.append(' ');
+                }
+            }
+            return slice(text.toString().getBytes(StandardCharsets.US_ASCII), SIZE);
+        }
+    },
+    // 고정 길이 레코드 - 증가하는 id, 몇 가지 태그, 작은 값과 잡음
+    BINARY {
+        @Override
+        byte[] generate(Random random) {
+            byte[] data = new byte[SIZE];
+            int id = 0;
+            for (int i = 0; i + 16 <= SIZE; i += 16) {
+                id += 1 + random.nextInt(3);
+                putInt(data, i, id);
+                putInt(data, i + 4, 0xCAFE0000 | random.nextInt(4));
+                putInt(data, i + 8, random.nextInt(1000));
+                putInt(data, i + 12, random.nextInt());
+            }
+            return data;
+        }
+    },
+    // 압축되지 않는 입력 - 저장 블록 경로
+    RANDOM {
+        @Override
+        byte[] generate(Random random) {
+            byte[] data = new byte[SIZE];
+            random.nextBytes(data);
+            return data;
+        }
+    },
+    // 짧은 패턴 반복에 드문 변형 - 최대 길이 매치가 대부분
+    REPETITIVE {
+        @Override
+        byte[] generate(Random random) {
+            byte[] pattern = "abcabcabd0123456789-".getBytes(StandardCharsets.US_ASCII);
+            byte[] data = new byte[SIZE];
+            for (int i = 0; i < SIZE; i++) {
+                data[i] = pattern[i % pattern.length];
+            }
+            for (int i = 0; i < SIZE / 4096; i++) {
+                data[random.nextInt(SIZE)] = (byte) random.nextInt(256);
+            }
+            return data;
+        }
+    },
+    // 작은 메시지 - 블록당 고정 비용이 지배적
+    TINY {
+        @Override
+        byte[] generate(Random random) {
+            return slice(TEXT.generate(random), 100);
+        }
+    };
+
+    static final int SIZE = 1024 * 1024;
+    private static final long SEED = 0x5EED;
+
+    abstract byte[] generate(Random random);
+
+    public byte[] generate() {
+        return generate(new Random(SEED));
+    }
+
+    private static byte[] slice(byte[] data, int length) {
+        byte[] result = new byte[length];
+        System.arraycopy(data, 0, result, 0, length);
+        return result;
+    }
+
+    private static void putInt(byte[] data, int offset, int value) {
+        data[offset] = (byte) (value >>> 24);
+        data[offset + 1] = (byte) (value >>> 16);
+        data[offset + 2] = (byte) (value >>> 8);
+        data[offset + 3] = (byte) value;
+    }
+}
@@ -0,0 +1,73 @@
+package deflate.benchmark;
+
+import deflate.DeflateOutputStream;
+import deflate.InflateInputStream;
+import deflate.core.codec.type.DeflateFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// 스트림 전체 압축/복원 - 파일 입출력 대신 메모리 버퍼를 써서 디스크 영향을 뺌
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DeflateBenchmark {
+
+    @Param({"TEXT", "BINARY", "RANDOM", "REPETITIVE", "TINY"})
+    public Corpus corpus;
+
+    @Param({"1", "6", "9"})
+    public int level;
+
+    @Param({"LEGACY", "RAW"})
+    public DeflateFormat format;
+
+    private byte[] data;
+    private byte[] compressed;
+    private final byte[] buffer = new byte[64 * 1024];
+    private ByteArrayOutputStream out;
+
+    @Setup
+    public void setup() throws IOException {
+        data = corpus.generate();
+        out = new ByteArrayOutputStream(data.length + 1024);
+        compressed = compress();
+    }
+
+    @Benchmark
+    public byte[] compress() throws IOException {
+        out.reset();
+        try (DeflateOutputStream deflater = new DeflateOutputStream(out, level, format)) {
+            deflater.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public long decompress() throws IOException {
+        long total = 0;
+        try (InflateInputStream in = new InflateInputStream(new ByteArrayInputStream(compressed), format)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                total += read;
+            }
+        }
+        return total;
+    }
+}
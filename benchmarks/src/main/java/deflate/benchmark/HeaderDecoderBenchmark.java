@@ -0,0 +1,65 @@
+package deflate.benchmark;
+
+import deflate.core.codec.compressor.LZ77HuffmanCompressor;
+import deflate.core.codec.compressorwriter.LZ77Writer;
+import deflate.core.codec.header.Header;
+import deflate.core.codec.header.HeaderDecoder;
+import deflate.core.codec.huffman.HuffmanService;
+import deflate.core.codec.lz77.CompressionLevel;
+import deflate.core.codec.lz77.LZ77Service;
+import deflate.core.codec.lz77.ParseStrategy;
+import deflate.core.codec.type.CompressType;
+import deflate.core.codec.type.DeflateFormat;
+import deflate.core.io.InputStream;
+import deflate.core.io.OutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// 블록 헤더를 읽어 디코딩 테이블을 만드는 비용 - 블록 본문은 읽지 않음
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HeaderDecoderBenchmark {
+
+    @Param({"TEXT", "BINARY", "RANDOM", "REPETITIVE", "TINY"})
+    public Corpus corpus;
+
+    private final DeflateFormat format = DeflateFormat.RAW;
+    private final HeaderDecoder headerDecoder = new HeaderDecoder();
+    private byte[] block;
+
+    @Setup
+    public void setup() throws IOException {
+        LZ77Service lz77Service = new LZ77Service(CompressionLevel.DEFAULT, false, format);
+        LZ77HuffmanCompressor.Tuple tuple = new LZ77HuffmanCompressor(lz77Service, new HuffmanService(),
+                ParseStrategy.HEURISTIC, CompressType.DYNAMIC_HUFFMAN).compress(corpus.generate());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new OutputStream(bytes, format.bitOrder)) {
+            out.writeBit(1, 1);
+            new LZ77Writer().write(tuple, out);
+        }
+        block = bytes.toByteArray();
+    }
+
+    @Benchmark
+    public Header decodeHeader() throws IOException {
+        return headerDecoder.decodeHeader(new InputStream(new ByteArrayInputStream(block), format.bitOrder));
+    }
+}
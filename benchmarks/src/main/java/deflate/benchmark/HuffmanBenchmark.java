@@ -0,0 +1,57 @@
+package deflate.benchmark;
+
+import deflate.core.codec.header.Header;
+import deflate.core.codec.huffman.HuffmanService;
+import deflate.core.io.BitOrder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// 리터럴/길이 알파벳 (286 심볼) 의 길이 제한 트리와 정규 코드 생성, 빈도는 입력 바이트 분포
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HuffmanBenchmark {
+
+    private static final int MAX_CODE_LENGTH = 15;
+
+    @Param({"TEXT", "BINARY", "RANDOM", "REPETITIVE", "TINY"})
+    public Corpus corpus;
+
+    private final HuffmanService huffmanService = new HuffmanService();
+    private int[] frequencies;
+    private byte[] codeLengths;
+
+    @Setup
+    public void setup() {
+        frequencies = new int[286];
+        for (byte b : corpus.generate()) {
+            frequencies[b & 0xFF]++;
+        }
+        frequencies[Header.END_OF_BLOCK] = 1;
+        codeLengths = huffmanService.buildCodeLengths(frequencies, MAX_CODE_LENGTH);
+    }
+
+    @Benchmark
+    public byte[] buildCodeLengths() {
+        return huffmanService.buildCodeLengths(frequencies, MAX_CODE_LENGTH);
+    }
+
+    @Benchmark
+    public int[] generateCanonicalCodes() {
+        return huffmanService.generateCanonicalCodes(codeLengths, BitOrder.LSB_FIRST);
+    }
+}
@@ -0,0 +1,56 @@
+package deflate.benchmark;
+
+import deflate.core.codec.lz77.CompressionLevel;
+import deflate.core.codec.lz77.LZ77Service;
+import deflate.core.codec.lz77.MatchFinderType;
+import deflate.core.codec.lz77.ParseStrategy;
+import deflate.core.codec.type.DeflateFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// 블록 하나의 매치 탐색 - 이력 없이 매번 빈 윈도우에서 시작, 탐색기와 파싱 방식별로 비교
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LZ77Benchmark {
+
+    @Param({"TEXT", "BINARY", "RANDOM", "REPETITIVE", "TINY"})
+    public Corpus corpus;
+
+    @Param({"1", "6", "9"})
+    public int level;
+
+    @Param({"HASH3_CHAIN", "HASH4_CHAIN", "DUAL_HASH", "BINARY_TREE"})
+    public MatchFinderType matchFinder;
+
+    @Param({"HEURISTIC", "OPTIMAL"})
+    public ParseStrategy strategy;
+
+    private byte[] data;
+    private LZ77Service lz77Service;
+
+    @Setup
+    public void setup() {
+        data = corpus.generate();
+        lz77Service = new LZ77Service(CompressionLevel.of(level), false, DeflateFormat.RAW, matchFinder);
+    }
+
+    @Benchmark
+    public LZ77Service.EncodingResult generateCodes() {
+        return lz77Service.generateCodes(data, strategy);
+    }
+}
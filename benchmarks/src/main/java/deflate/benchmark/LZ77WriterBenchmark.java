@@ -0,0 +1,59 @@
+package deflate.benchmark;
+
+import deflate.core.codec.compressor.LZ77HuffmanCompressor;
+import deflate.core.codec.compressorwriter.LZ77Writer;
+import deflate.core.codec.huffman.HuffmanService;
+import deflate.core.codec.lz77.CompressionLevel;
+import deflate.core.codec.lz77.LZ77Service;
+import deflate.core.codec.lz77.ParseStrategy;
+import deflate.core.codec.type.CompressType;
+import deflate.core.codec.type.DeflateFormat;
+import deflate.core.io.OutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// 미리 만든 토큰열과 허프만 코드를 비트열로 기록하는 비용만 측정
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LZ77WriterBenchmark {
+
+    @Param({"TEXT", "BINARY", "RANDOM", "REPETITIVE", "TINY"})
+    public Corpus corpus;
+
+    @Param({"LEGACY", "RAW"})
+    public DeflateFormat format;
+
+    private final LZ77Writer writer = new LZ77Writer();
+    private LZ77HuffmanCompressor.Tuple tuple;
+
+    @Setup
+    public void setup() {
+        LZ77Service lz77Service = new LZ77Service(CompressionLevel.DEFAULT, false, format);
+        tuple = new LZ77HuffmanCompressor(lz77Service, new HuffmanService(), ParseStrategy.HEURISTIC,
+                CompressType.DYNAMIC_HUFFMAN).compress(corpus.generate());
+    }
+
+    @Benchmark
+    public long write() throws IOException {
+        OutputStream out = new OutputStream(java.io.OutputStream.nullOutputStream(), format.bitOrder);
+        writer.write(tuple, out);
+        out.finish();
+        return out.getBitLength();
+    }
+}
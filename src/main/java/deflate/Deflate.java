@@ -1,176 +1,121 @@
 package deflate;
 
-import deflate.core.codec.CompressTypeDetector;
-import deflate.core.codec.CompressorCodecDetector;
-import deflate.core.codec.compressorfactory.Codec;
-import deflate.core.codec.header.Header;
-import deflate.core.codec.header.HeaderDecoder;
-import deflate.core.codec.lz77.LZ77Service;
-import deflate.core.codec.type.CompressType;
-import deflate.core.io.InputStream;
-import deflate.core.io.OutputStream;
-import deflate.core.table.DistanceTables;
-import deflate.core.table.LengthTables;
-import deflate.core.util.BitUtil;
-
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
+import deflate.core.codec.lz77.CompressionLevel;
+import deflate.core.codec.lz77.MatchFinderType;
+import deflate.core.codec.lz77.ParseStrategy;
+import deflate.core.codec.type.DeflateFormat;
+import deflate.core.io.ChannelOutputStream;
+import deflate.core.io.ReadAheadInputStream;
+import deflate.core.io.WriteBehindOutputStream;
+import deflate.seekable.SeekableCompressor;
+import deflate.seekable.SeekableDecompressor;
+
 import java.io.IOException;
-import java.util.Arrays;
-import java.util.Map;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutorService;
 
 public class Deflate {
 
     private static final int BUFFER_SIZE = 64 * 1024;
 
-    public void compress(String inputFile, String outputFile) {
-        try (FileInputStream fis = new FileInputStream(inputFile);
-             OutputStream bitOut = new OutputStream(new FileOutputStream(outputFile, true))) {
-            File file = new File(inputFile);
-            long fileSize = file.length(); // 파일 전체 크기
-            long bytesReadTotal = 0;       // 지금까지 읽은 바이트 수
-            byte[] buffer = new byte[BUFFER_SIZE];
-            int bytesRead;
+    private final CompressionLevel level;
+    // LEGACY 는 기존 형식, RAW/ZLIB/GZIP 은 표준 inflater 로 풀 수 있는 RFC 1951 비트열
+    private final DeflateFormat format;
+    private final MatchFinderType matchFinder;
+    // null 이면 순차 압축, 지정하면 블록 단위 병렬 압축 (풀 종료는 호출자 책임)
+    private final ExecutorService executor;
+    private final int parallelism;
+    // executor 가 있을 때 compress 의 실행 방식 (색인 압축은 항상 블록 단위 병렬)
+    private final ExecutionMode mode;
+
+    public Deflate() {
+        this(CompressionLevel.DEFAULT.ordinal() + 1);
+    }
 
-            CompressorCodecDetector compressorCodecDetector = new CompressorCodecDetector(new CompressTypeDetector());
-            while ((bytesRead = fis.read(buffer)) != -1) {
-                bytesReadTotal += bytesRead;
-                long bfinal = BitUtil.addBit(0L, 0);
-                if (bytesReadTotal == fileSize) {
-                    bfinal = BitUtil.addBit(0L, 1);
-                }
-
-                if (bytesRead != BUFFER_SIZE) {
-                    buffer = Arrays.copyOf(buffer, bytesRead);
-                }
-
-                //압축 방식 결정
-                Codec codec = compressorCodecDetector.createCompressorCodec(buffer);
-                bitOut.writeBit(bfinal, 1);
-                codec.compressAndWrite(buffer, bitOut);
-            }
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
+    // level: 1(빠름) ~ 9(최대 압축)
+    public Deflate(int level) {
+        this(level, DeflateFormat.LEGACY);
     }
 
-    public void decompress(String inputFile, String outputFile) throws IOException {
-        try (InputStream bis = new InputStream(new FileInputStream(inputFile));
-             FileOutputStream fos = new FileOutputStream(outputFile, true)) {
-
-            boolean lastBlock = false;
-
-            while (!lastBlock) {
-                // 헤더 정보 디코딩
-                HeaderDecoder headerDecoder = new HeaderDecoder();
-                Header decodedHeaderInfo = headerDecoder.decodeHeader(bis);
-
-                lastBlock = BitUtil.extractBits(decodedHeaderInfo.getBfinal()).get(0) == 1;
-                long btype = decodedHeaderInfo.getBtype();
-
-                if (CompressType.NONE.value == btype) {
-                    //비압축 블록 (BTYPE=00)
-                    byte[] bytes = bis.readBytes(BUFFER_SIZE);
-                    fos.write(bytes);
-                } else if (CompressType.FIX_HUFFMAN.value == btype) {
-                    //고정 허프만 코딩 (BTYPE=01)
-
-                } else if (CompressType.DYNAMIC_HUFFMAN.value == btype) {
-                    //가변 허프만 코딩 (BTYPE=10)
-                    Map<Long, Integer> literalTree = decodedHeaderInfo.getLiteralTree();
-
-                    Map<Long, Integer> distanceTree = decodedHeaderInfo.getDistanceTree();
-
-                    // LZ77 블록 복구 및 원본 파일 복원
-                    LZ77Service.EncodingResult result = decompressBlock(bis, literalTree, distanceTree);
-                    LZ77Service lz77Service = new LZ77Service();
-                    byte[] decode = lz77Service.decode(result);
-                    fos.write(decode, 0, decode.length);
-                } else {
-                    throw new RuntimeException("Unrecognized compress type.");
-                }
-            }
-        }
+    public Deflate(int level, DeflateFormat format) {
+        this(level, format, null, 1);
     }
 
-    private LZ77Service.EncodingResult decompressBlock(InputStream bis,
-                                                       Map<Long, Integer> literalTree,
-                                                       Map<Long, Integer> distanceTree) throws IOException {
-        LZ77Service.EncodingResult encodingResult = new LZ77Service.EncodingResult(64);
-        while (true) {
-            // 리터럴/길이 코드 읽기
-            int symbol = decodeSymbol(literalTree, 15, bis);
-            if (symbol == 256) {
-                break;
-            } else if (symbol < 256) {
-                encodingResult.add(0, 0, (byte) symbol);
-            } else {
-                // 길이-거리 쌍 처리
-                int length = decodeLength(symbol, bis);
-
-                // 거리 코드 읽기
-                int distSymbol = decodeSymbol(distanceTree, 15, bis);
-                int distance = decodeDistance(distSymbol, bis);
-
-                symbol = decodeSymbol(literalTree, 15, bis);
-
-                // 다음 바이트 읽기
-                byte nextByte = (byte) symbol;
-                encodingResult.add(distance, length, nextByte);
-            }
-        }
+    public Deflate(ExecutorService executor, int parallelism) {
+        this(CompressionLevel.DEFAULT.ordinal() + 1, executor, parallelism);
+    }
 
-        return encodingResult;
+    public Deflate(int level, ExecutorService executor, int parallelism) {
+        this(level, DeflateFormat.LEGACY, executor, parallelism);
     }
 
-    private int decodeSymbol(Map<Long, Integer> tree, int limit, InputStream bis) throws IOException {
-        Integer symbol = null;
-        long code = 0;
-        while (symbol == null) {
-            int bit = bis.readBit();
+    public Deflate(int level, DeflateFormat format, ExecutorService executor, int parallelism) {
+        this(level, format, executor, parallelism, ExecutionMode.BLOCK_PARALLEL);
+    }
 
-            code = BitUtil.addBit(code, bit);
+    public Deflate(int level, DeflateFormat format, ExecutorService executor, int parallelism, ExecutionMode mode) {
+        this(level, format, CompressionLevel.of(level).matchFinder, executor, parallelism, mode);
+    }
 
-            symbol = tree.get(code);
+    public Deflate(int level, DeflateFormat format, MatchFinderType matchFinder) {
+        this(level, format, matchFinder, null, 1, ExecutionMode.BLOCK_PARALLEL);
+    }
 
-            if (BitUtil.extractBits(code).get(1) > limit) {
-                throw new IOException("유효하지 않은 리터럴/길이 코드");
-            }
-        }
+    // matchFinder: 레벨 기본 탐색기 대신 쓸 매치 탐색 방식
+    public Deflate(int level, DeflateFormat format, MatchFinderType matchFinder, ExecutorService executor,
+                   int parallelism, ExecutionMode mode) {
+        this.level = CompressionLevel.of(level);
+        this.format = format;
+        this.matchFinder = matchFinder;
+        this.executor = executor;
+        this.parallelism = parallelism;
+        this.mode = mode;
+    }
 
-        return symbol;
+    public void compress(String inputFile, String outputFile) {
+        compress(inputFile, outputFile, ParseStrategy.HEURISTIC);
     }
 
-    private int decodeLength(int symbol, InputStream bis) throws IOException {
-        if (symbol < 257 || symbol > 285) {
-            throw new IOException("유효하지 않은 길이 심볼: " + symbol);
+    // strategy: HEURISTIC(레벨에 따른 탐욕/지연 매칭) 또는 OPTIMAL(비트 비용 최단 경로, 보관용)
+    // 입력은 전용 스레드가 다음 조각을 미리 읽고, 출력은 전용 스레드가 뒤에서 기록 (기존 출력 파일은 덮어씀)
+    public void compress(String inputFile, String outputFile, ParseStrategy strategy) {
+        try (ReadAheadInputStream in = new ReadAheadInputStream(Files.newInputStream(Paths.get(inputFile)));
+             DeflateOutputStream out = new DeflateOutputStream(
+                     new WriteBehindOutputStream(new ChannelOutputStream(Paths.get(outputFile))),
+                     level.ordinal() + 1, format, strategy, matchFinder, executor, parallelism, mode)) {
+            out.transferFrom(in);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
         }
+    }
 
-        int[] lengthEntry = LengthTables.CODE_EQUAL_BASE_EXTRABIT_CODE[symbol - 257];
-        int baseLength = lengthEntry[0];
-        int extraBits = lengthEntry[1];
-
-        if (extraBits > 0) {
-            int extraValue = bis.readBits(extraBits);
-            return baseLength + extraValue;
-        } else {
-            return baseLength;
+    public void decompress(String inputFile, String outputFile) throws IOException {
+        try (InflateInputStream in = new InflateInputStream(
+                new ReadAheadInputStream(Files.newInputStream(Paths.get(inputFile))), format);
+             WriteBehindOutputStream out = new WriteBehindOutputStream(new ChannelOutputStream(Paths.get(outputFile)))) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int bytesRead;
+            while ((bytesRead = in.read(buffer)) != -1) {
+                out.write(buffer, 0, bytesRead);
+            }
         }
     }
 
-    private int decodeDistance(int symbol, InputStream bis) throws IOException {
-        if (symbol < 0 || symbol > 29) {
-            throw new IOException("유효하지 않은 거리 심볼: " + symbol);
+    // 블록마다 독립된 스트림과 블록 색인을 기록 - decompressIndexed 가 블록을 병렬로 풀 수 있음
+    public void compressIndexed(String inputFile, String outputFile) {
+        try {
+            new SeekableCompressor(level.ordinal() + 1, format, matchFinder, SeekableCompressor.DEFAULT_BLOCK_SIZE,
+                    executor, parallelism).compress(inputFile, outputFile);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
         }
-        int[] distanceEntry = DistanceTables.CODE_EQUAL_BASE_CODE_EXTRABIT[symbol];
-        int baseDistance = distanceEntry[0];
-        int extraBits = distanceEntry[2];
+    }
 
-        if (extraBits > 0) {
-            int extraValue = bis.readBits(extraBits);
-            return baseDistance + extraValue;
+    // compressIndexed 로 만든 파일 복원, executor 가 있으면 블록 단위 병렬 복원 (형식은 색인에 기록된 값을 따름)
+    public void decompressIndexed(String inputFile, String outputFile) throws IOException {
+        try (SeekableDecompressor in = new SeekableDecompressor(inputFile)) {
+            in.decompress(outputFile, executor, parallelism);
         }
-        return baseDistance;
     }
 }
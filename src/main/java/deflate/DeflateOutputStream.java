@@ -0,0 +1,390 @@
+package deflate;
+
+import deflate.core.codec.CompressTypeDetector;
+import deflate.core.codec.CompressionContext;
+import deflate.core.codec.CompressorCodecDetector;
+import deflate.core.codec.compressorfactory.Codec;
+import deflate.core.codec.compressorfactory.Codec.PendingWrite;
+import deflate.core.codec.compressorwriter.StoredWriter;
+import deflate.core.codec.frame.Frame;
+import deflate.core.codec.lz77.CompressionLevel;
+import deflate.core.codec.lz77.MatchFinderType;
+import deflate.core.codec.lz77.ParseStrategy;
+import deflate.core.codec.type.DeflateFormat;
+import deflate.core.io.OutputStream;
+import deflate.core.util.BitUtil;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.Checksum;
+
+// 쓰는 대로 블록 단위로 압축 - 입력 길이를 몰라도 되고, 메모리는 블록 버퍼 크기로 고정
+public class DeflateOutputStream extends FilterOutputStream {
+
+    // 한 번에 압축하는 입력 단위, 실제 블록 경계는 이 안에서 토큰 통계로 다시 정함
+    static final int BLOCK_SIZE = 256 * 1024;
+    // 파이프라인에 동시에 들어가 있는 블록 수 상한 - 단계 3개가 모두 일하는 동안 다음 입력을 채울 수 있는 만큼
+    static final int PIPELINE_DEPTH = 4;
+
+    private final CompressionLevel level;
+    private final DeflateFormat format;
+    private final ParseStrategy strategy;
+    // null 이면 순차 압축, 지정하면 블록 단위 병렬 압축 또는 파이프라인 압축 (풀 종료는 호출자 책임)
+    private final ExecutorService executor;
+    private final int maxPendingBlocks;
+    private final boolean pipelined;
+
+    private final OutputStream bitOut;
+    // 파이프라인 압축에서 비트 기록 단계가 만든 온전한 바이트 - 출력 단계로 넘길 때까지 모아 둠
+    private final ByteArrayOutputStream staged;
+    private final CompressorCodecDetector compressorCodecDetector;
+    private final Frame frame;
+    private final Checksum checksum;
+
+    // 아직 압축하지 않은 입력 - 가득 차도 다음 입력이 올 때까지 보관해야 마지막 블록인지 알 수 있음
+    private byte[] buffer = new byte[BLOCK_SIZE];
+    private int count;
+    private long totalIn;
+    // 병렬 압축 중인 블록 - 입력 순서대로 꺼내 기록
+    private final Deque<Future<CompressedBlock>> pendingBlocks = new ArrayDeque<>();
+    // 파이프라인 단계별로 마지막에 넣은 블록 - 다음 블록의 같은 단계는 이 뒤에 실행
+    private CompletableFuture<PendingWrite> lastMatched = CompletableFuture.completedFuture(null);
+    private CompletableFuture<byte[]> lastEncoded = CompletableFuture.completedFuture(null);
+    private CompletableFuture<Void> lastWritten = CompletableFuture.completedFuture(null);
+    private final Deque<CompletableFuture<Void>> pipelinedBlocks = new ArrayDeque<>();
+    private boolean headerWritten;
+    private boolean finished;
+
+    public DeflateOutputStream(java.io.OutputStream out) {
+        this(out, CompressionLevel.DEFAULT.ordinal() + 1);
+    }
+
+    public DeflateOutputStream(java.io.OutputStream out, int level) {
+        this(out, level, DeflateFormat.LEGACY);
+    }
+
+    public DeflateOutputStream(java.io.OutputStream out, int level, DeflateFormat format) {
+        this(out, level, format, ParseStrategy.HEURISTIC, null, 1);
+    }
+
+    public DeflateOutputStream(java.io.OutputStream out, int level, DeflateFormat format, ParseStrategy strategy,
+                               ExecutorService executor, int parallelism) {
+        this(out, level, format, strategy, executor, parallelism, ExecutionMode.BLOCK_PARALLEL);
+    }
+
+    // PIPELINED 는 parallelism 과 관계없이 단계마다 한 블록씩, 최대 PIPELINE_DEPTH 블록을 동시에 처리
+    public DeflateOutputStream(java.io.OutputStream out, int level, DeflateFormat format, ParseStrategy strategy,
+                               ExecutorService executor, int parallelism, ExecutionMode mode) {
+        this(out, level, format, strategy, CompressionLevel.of(level).matchFinder, executor, parallelism, mode);
+    }
+
+    // matchFinder: 레벨 기본 탐색기 대신 쓸 매치 탐색 방식
+    public DeflateOutputStream(java.io.OutputStream out, int level, DeflateFormat format, ParseStrategy strategy,
+                               MatchFinderType matchFinder, ExecutorService executor, int parallelism,
+                               ExecutionMode mode) {
+        super(out);
+        this.level = CompressionLevel.of(level);
+        this.format = format;
+        this.strategy = strategy;
+        this.executor = executor;
+        this.maxPendingBlocks = Math.max(1, parallelism) * 2;
+        this.pipelined = executor != null && mode == ExecutionMode.PIPELINED;
+        this.staged = pipelined ? new ByteArrayOutputStream(BLOCK_SIZE) : null;
+        this.bitOut = new OutputStream(pipelined ? staged : out, format.bitOrder);
+
+        // 순차/파이프라인 압축은 블록 경계를 넘어 32KB 윈도우를 이어 쓰고, 병렬 압축은 블록을 독립적으로 압축
+        this.compressorCodecDetector = executor == null || pipelined
+                ? new CompressorCodecDetector(new CompressTypeDetector(),
+                        new CompressionContext(this.level, format, matchFinder, true))
+                : new CompressorCodecDetector(new CompressTypeDetector(), this.level, format, matchFinder);
+        this.frame = Frame.of(format);
+        this.checksum = frame == null ? null : frame.createChecksum();
+    }
+
+    // 블록 버퍼에 바로 넣음 - 바이트마다 배열을 만들지 않음
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        if (count == BLOCK_SIZE) {
+            writeBlock(false);
+        }
+        buffer[count++] = (byte) b;
+        update(buffer, count - 1, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        if ((off | len) < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        update(b, off, len);
+        while (len > 0) {
+            if (count == BLOCK_SIZE) {
+                writeBlock(false);
+            }
+            int chunk = Math.min(len, BLOCK_SIZE - count);
+            System.arraycopy(b, off, buffer, count, chunk);
+            count += chunk;
+            off += chunk;
+            len -= chunk;
+        }
+    }
+
+    // in 을 끝까지 읽어 압축 - 블록 버퍼로 바로 읽어 중간 복사가 없음, 읽은 바이트 수 반환
+    public long transferFrom(java.io.InputStream in) throws IOException {
+        ensureOpen();
+        long transferred = 0;
+        while (true) {
+            if (count == BLOCK_SIZE) {
+                // 가득 찬 블록은 뒤에 입력이 더 있을 때만 마지막이 아닌 블록으로 내보냄
+                int next = in.read();
+                if (next == -1) {
+                    return transferred;
+                }
+                writeBlock(false);
+                buffer[count++] = (byte) next;
+                update(buffer, count - 1, 1);
+                transferred++;
+            }
+            int read = in.read(buffer, count, BLOCK_SIZE - count);
+            if (read == -1) {
+                return transferred;
+            }
+            update(buffer, count, read);
+            count += read;
+            transferred += read;
+        }
+    }
+
+    private void update(byte[] b, int off, int len) {
+        if (checksum != null) {
+            checksum.update(b, off, len);
+        }
+        totalIn += len;
+    }
+
+    // 모아 둔 입력을 마지막이 아닌 블록으로 내보내고, 빈 저장 블록으로 바이트 경계를 맞춰 하위 스트림까지 flush
+    // 받는 쪽은 지금까지 쓴 데이터를 모두 복원할 수 있음
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        if (count > 0) {
+            writeBlock(false);
+        }
+        drainPendingBlocks();
+        writeHeader();
+        new StoredWriter().write(new byte[0], BitUtil.addBit(0L, 0), bitOut);
+        bitOut.flush();
+        flushStaged();
+    }
+
+    // 마지막 블록과 트레일러를 기록, 하위 스트림은 닫지 않음
+    public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        try {
+            // 남은 입력이 없으면 (빈 입력이거나 flush 직후) 빈 저장 블록으로 스트림을 끝냄
+            if (count > 0) {
+                writeBlock(true);
+            }
+            drainPendingBlocks();
+            writeHeader();
+            if (count == 0) {
+                new StoredWriter().write(new byte[0], BitUtil.addBit(0L, 1), bitOut);
+            }
+            if (frame != null) {
+                frame.writeTrailer(bitOut, checksum, totalIn);
+            }
+            bitOut.finish();
+            flushStaged();
+        } finally {
+            finished = true;
+            buffer = null;
+            for (Future<CompressedBlock> pendingBlock : pendingBlocks) {
+                pendingBlock.cancel(true);
+            }
+            pendingBlocks.clear();
+            for (CompletableFuture<Void> pipelinedBlock : pipelinedBlocks) {
+                pipelinedBlock.cancel(true);
+            }
+            pipelinedBlocks.clear();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            finish();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (finished) {
+            throw new IOException("Stream finished");
+        }
+    }
+
+    private void writeHeader() throws IOException {
+        if (!headerWritten) {
+            headerWritten = true;
+            if (frame != null) {
+                frame.writeHeader(bitOut, level);
+            }
+        }
+    }
+
+    private void writeBlock(boolean last) throws IOException {
+        long bfinal = BitUtil.addBit(0L, last ? 1 : 0);
+        byte[] block = count == BLOCK_SIZE ? buffer : Arrays.copyOf(buffer, count);
+        if (!last) {
+            count = 0;
+        }
+
+        if (executor == null) {
+            writeHeader();
+            compressBlock(block, bfinal, bitOut);
+            return;
+        }
+        if (pipelined) {
+            // 첫 블록을 넣기 전에 기록하므로 비트 기록 단계와 겹치지 않음
+            writeHeader();
+            submitPipelined(block, bfinal);
+            buffer = new byte[BLOCK_SIZE];
+            return;
+        }
+
+        pendingBlocks.add(executor.submit(() -> compressBlock(block, bfinal)));
+        // 작업 스레드가 쓰는 중인 배열은 재사용하지 않음
+        buffer = new byte[BLOCK_SIZE];
+        if (pendingBlocks.size() >= maxPendingBlocks) {
+            writeCompressedBlock(pendingBlocks.poll());
+        }
+    }
+
+    private void compressBlock(byte[] block, long bfinal, OutputStream out) throws IOException {
+        //압축 방식 결정
+        Codec codec = compressorCodecDetector.createCompressorCodec(block, strategy);
+        codec.compressAndWrite(block, bfinal, out);
+    }
+
+    // 작업 스레드에서 블록 하나를 별도 비트열로 압축
+    private CompressedBlock compressBlock(byte[] block, long bfinal) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(block.length / 2 + 16);
+        long bitLength;
+        long[] alignments;
+        try (OutputStream out = new OutputStream(bytes, format.bitOrder, true)) {
+            compressBlock(block, bfinal, out);
+            bitLength = out.getBitLength();
+            alignments = out.getAlignments();
+        }
+        return new CompressedBlock(bytes.toByteArray(), bitLength, alignments);
+    }
+
+    // 블록을 매치 탐색 -> 비트 기록 -> 출력 세 단계로 나눠 작업 풀에 넣음
+    // 각 단계는 직전 블록의 같은 단계가 끝난 뒤에 실행되므로 블록 N+1 의 매치 탐색과 블록 N 의 비트 기록,
+    // 블록 N-1 의 출력이 겹침 - 대기 중인 작업이 스레드를 잡고 있지 않아 풀 크기와 관계없이 교착이 없음
+    private void submitPipelined(byte[] block, long bfinal) throws IOException {
+        CompletableFuture<PendingWrite> matched = lastMatched.thenApplyAsync(
+                previous -> compressorCodecDetector.createCompressorCodec(block, strategy).prepare(block, bfinal), executor);
+        CompletableFuture<byte[]> encoded = matched.thenCombineAsync(lastEncoded,
+                (pendingWrite, previous) -> encode(pendingWrite), executor);
+        CompletableFuture<Void> written = encoded.thenCombineAsync(lastWritten,
+                (bytes, previous) -> writeEncoded(bytes), executor);
+        lastMatched = matched;
+        lastEncoded = encoded;
+        lastWritten = written;
+
+        // 앞 단계가 밀리면 입력을 더 받지 않고 가장 오래된 블록이 기록될 때까지 기다림
+        pipelinedBlocks.add(written);
+        if (pipelinedBlocks.size() >= PIPELINE_DEPTH) {
+            await(pipelinedBlocks.poll());
+        }
+    }
+
+    // 허프만 코드를 만들어 비트열로 기록하고 온전한 바이트만 꺼냄, 바이트 경계에 못 미친 비트는 다음 블록에 이어짐
+    private byte[] encode(PendingWrite pendingWrite) {
+        try {
+            pendingWrite.writeTo(bitOut);
+            bitOut.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] bytes = staged.toByteArray();
+        staged.reset();
+        return bytes;
+    }
+
+    private Void writeEncoded(byte[] bytes) {
+        try {
+            out.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return null;
+    }
+
+    // 파이프라인이 비었을 때 호출 스레드가 bitOut 에 기록한 바이트를 내보냄
+    private void flushStaged() throws IOException {
+        if (staged != null) {
+            staged.writeTo(out);
+            staged.reset();
+            out.flush();
+        }
+    }
+
+    private void drainPendingBlocks() throws IOException {
+        while (!pendingBlocks.isEmpty()) {
+            writeCompressedBlock(pendingBlocks.poll());
+        }
+        while (!pipelinedBlocks.isEmpty()) {
+            await(pipelinedBlocks.poll());
+        }
+    }
+
+    private static <T> T await(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while compressing blocks", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof UncheckedIOException ? e.getCause().getCause() : e.getCause();
+            throw new IOException("Block compression failed", cause);
+        }
+    }
+
+    private void writeCompressedBlock(Future<CompressedBlock> pendingBlock) throws IOException {
+        CompressedBlock compressedBlock = await(pendingBlock);
+        writeHeader();
+        // 조각 안의 저장 블록은 조각 시작 기준으로 바이트 경계를 맞췄으므로 이어 붙이며 실제 위치 기준으로 다시 맞춤
+        // 채우는 비트 수는 앞 조각들의 비트 길이로만 정해지고, 조각 경계(BLOCK_SIZE)와 조각별 압축 결과는
+        // 어느 스레드가 몇 개로 나눠 압축하든 같으므로 출력은 스레드 수와 관계없이 같음
+        bitOut.writeBits(compressedBlock.bits, compressedBlock.bitLength, compressedBlock.alignments);
+    }
+
+    private static final class CompressedBlock {
+        private final byte[] bits;
+        private final long bitLength;
+        // 조각 시작 기준 alignToByte 위치 (채우기 전 비트 수)
+        private final long[] alignments;
+
+        private CompressedBlock(byte[] bits, long bitLength, long[] alignments) {
+            this.bits = bits;
+            this.bitLength = bitLength;
+            this.alignments = alignments;
+        }
+    }
+}
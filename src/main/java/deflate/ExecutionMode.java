@@ -0,0 +1,10 @@
+package deflate;
+
+// 작업 풀이 주어졌을 때 한 스트림의 압축을 나눠 실행하는 방식 (풀이 없으면 항상 순차 압축)
+public enum ExecutionMode {
+    // 블록마다 독립된 윈도우로 동시에 압축 - 코어 수만큼 빨라지지만 블록 경계에서 이력이 끊김
+    BLOCK_PARALLEL,
+    // 매치 탐색, 허프만 코드 생성과 비트 기록, 하위 스트림 쓰기를 블록 단위로 겹쳐 실행
+    // 윈도우를 이어 쓰므로 출력은 순차 압축과 같고, 코어가 2~4개일 때 적합
+    PIPELINED
+}
@@ -0,0 +1,261 @@
+package deflate;
+
+import deflate.core.codec.frame.Frame;
+import deflate.core.codec.header.Header;
+import deflate.core.codec.header.HeaderDecoder;
+import deflate.core.codec.huffman.HuffmanDecoder;
+import deflate.core.codec.lz77.DecodeWindow;
+import deflate.core.codec.type.CompressType;
+import deflate.core.codec.type.DeflateFormat;
+import deflate.core.io.InputStream;
+import deflate.core.table.DistanceTables;
+import deflate.core.table.LengthTables;
+import deflate.core.util.BitUtil;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.util.zip.Checksum;
+
+// 읽는 만큼 복원 - 심볼을 링 버퍼에 바로 풀어 블록 크기와 관계없이 메모리 고정
+public class InflateInputStream extends FilterInputStream {
+
+    private final DeflateFormat format;
+    private final InputStream bitIn;
+    // 최근 32KB 이력과 아직 읽어 가지 않은 출력
+    private final DecodeWindow window = new DecodeWindow();
+    private final Frame frame;
+    private final Checksum checksum;
+    private final HeaderDecoder headerDecoder = new HeaderDecoder();
+
+    // 진행 중인 블록 - 저장 블록은 남은 바이트 수, 허프만 블록은 디코딩 테이블
+    private boolean inBlock;
+    private int storedRemaining;
+    private HuffmanDecoder literalDecoder;
+    private HuffmanDecoder distanceDecoder;
+    // 기존 형식에서 블록 마지막 매치의 nextByte 0 은 버려지므로, 다음 심볼을 볼 때까지 보류
+    private boolean pendingZero;
+
+    private boolean headerRead;
+    private boolean lastBlock;
+    private boolean endOfStream;
+    private boolean closed;
+    // read() 한 바이트 읽기용 - 호출마다 배열을 만들지 않음
+    private final byte[] single = new byte[1];
+
+    public InflateInputStream(java.io.InputStream in) {
+        this(in, DeflateFormat.LEGACY);
+    }
+
+    public InflateInputStream(java.io.InputStream in, DeflateFormat format) {
+        super(in);
+        this.format = format;
+        this.bitIn = new InputStream(in, format.bitOrder);
+        this.frame = Frame.of(format);
+        this.checksum = frame == null ? null : frame.createChecksum();
+    }
+
+    @Override
+    public int read() throws IOException {
+        return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        if ((off | len) < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) {
+            return 0;
+        }
+        while (window.available() == 0) {
+            if (!fill()) {
+                return -1;
+            }
+        }
+        int read = window.read(b, off, len);
+        if (checksum != null) {
+            checksum.update(b, off, read);
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        byte[] scratch = new byte[(int) Math.min(n, 8192)];
+        long skipped = 0;
+        while (skipped < n) {
+            int read = read(scratch, 0, (int) Math.min(n - skipped, scratch.length));
+            if (read == -1) {
+                break;
+            }
+            skipped += read;
+        }
+        return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+        ensureOpen();
+        return window.available();
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            bitIn.close();
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    // 링에 출력을 더 채움, 스트림 끝이면 트레일러를 검증하고 false
+    private boolean fill() throws IOException {
+        if (!inBlock && !nextBlock()) {
+            return false;
+        }
+        if (literalDecoder == null) {
+            //비압축 블록 (BTYPE=00) - 링의 빈 공간만큼씩 바로 읽음
+            int chunk = Math.min(storedRemaining, window.writable());
+            window.readFrom(bitIn, chunk);
+            storedRemaining -= chunk;
+            inBlock = storedRemaining > 0;
+        } else {
+            decodeSymbols();
+        }
+        return true;
+    }
+
+    // 다음 블록 헤더를 읽음, 마지막 블록 뒤라면 false
+    private boolean nextBlock() throws IOException {
+        if (endOfStream) {
+            return false;
+        }
+        if (!headerRead) {
+            headerRead = true;
+            if (frame != null) {
+                frame.readHeader(bitIn);
+            }
+        }
+        if (lastBlock) {
+            endOfStream = true;
+            if (frame != null) {
+                frame.readTrailer(bitIn, checksum, window.getTotalOut());
+            }
+            return false;
+        }
+
+        // 헤더 정보 디코딩
+        Header decodedHeaderInfo = headerDecoder.decodeHeader(bitIn);
+
+        lastBlock = BitUtil.extractBits(decodedHeaderInfo.getBfinal()).get(0) == 1;
+        long btype = decodedHeaderInfo.getBtype();
+
+        if (CompressType.NONE.value == btype) {
+            // 헤더에서 이미 바이트 경계로 정렬됨
+            storedRemaining = decodedHeaderInfo.getStoredLength();
+            literalDecoder = null;
+            distanceDecoder = null;
+        } else if (CompressType.FIX_HUFFMAN.value == btype || CompressType.DYNAMIC_HUFFMAN.value == btype) {
+            //고정 허프만 코딩 (BTYPE=01), 가변 허프만 코딩 (BTYPE=10) - 헤더에 담긴 디코딩 테이블만 다름
+            literalDecoder = decodedHeaderInfo.getLiteralDecoder();
+            distanceDecoder = decodedHeaderInfo.getDistanceDecoder();
+        } else {
+            throw new IOException("Unrecognized compress type.");
+        }
+        inBlock = true;
+        return true;
+    }
+
+    // 링이 찰 때까지 또는 블록 끝까지 심볼을 읽어 바로 출력
+    private void decodeSymbols() throws IOException {
+        while (window.writable() > DecodeWindow.MAX_TOKEN_OUTPUT) {
+            // 리터럴/길이 코드 읽기
+            int symbol = literalDecoder.decode(bitIn);
+            if (symbol == Header.END_OF_BLOCK) {
+                pendingZero = false;
+                inBlock = false;
+                return;
+            }
+            if (pendingZero) {
+                window.put((byte) 0);
+                pendingZero = false;
+            }
+            if (symbol < 256) {
+                window.put(toLiteral(symbol));
+                continue;
+            }
+
+            // 길이-거리 쌍 처리
+            int length = decodeLength(symbol);
+            int distance = decodeDistance(distanceDecoder.decode(bitIn));
+            window.copy(distance, length);
+
+            if (format.nextByteTokens) {
+                // 다음 바이트 읽기
+                byte nextByte = toLiteral(literalDecoder.decode(bitIn));
+                if (nextByte == 0) {
+                    pendingZero = true;
+                } else {
+                    window.put(nextByte);
+                }
+            }
+        }
+    }
+
+    // 기존 형식의 리터럴 심볼 0~255 는 바이트 값 -128~127, RFC 1951 은 0~255 그대로
+    private byte toLiteral(int symbol) {
+        return (byte) (symbol ^ format.literalSymbolFlip);
+    }
+
+    private int decodeLength(int symbol) throws IOException {
+        if (symbol < 257 || symbol > 285) {
+            throw new IOException("유효하지 않은 길이 심볼: " + symbol);
+        }
+
+        int[] lengthEntry = LengthTables.CODE_EQUAL_BASE_EXTRABIT_CODE[symbol - 257];
+        int baseLength = lengthEntry[0];
+        int extraBits = lengthEntry[1];
+
+        if (extraBits > 0) {
+            int extraValue = bitIn.readBits(extraBits);
+            return baseLength + extraValue;
+        } else {
+            return baseLength;
+        }
+    }
+
+    private int decodeDistance(int symbol) throws IOException {
+        if (symbol < 0 || symbol > 29) {
+            throw new IOException("유효하지 않은 거리 심볼: " + symbol);
+        }
+        int[] distanceEntry = DistanceTables.CODE_EQUAL_BASE_CODE_EXTRABIT[symbol];
+        int baseDistance = distanceEntry[0];
+        int extraBits = distanceEntry[2];
+
+        if (extraBits > 0) {
+            int extraValue = bitIn.readBits(extraBits);
+            return baseDistance + extraValue;
+        }
+        return baseDistance;
+    }
+}
@@ -3,8 +3,101 @@ package deflate.core.codec;
 import deflate.core.codec.type.CompressType;
 
 public final class CompressTypeDetector {
-    public CompressType detect(byte[] date) {
-        //다이나믹 고정
-        return CompressType.DYNAMIC_HUFFMAN;
+    // 이보다 작은 블록은 판정 없이 허프만 압축 (고정/동적 선택과 저장 블록 대체가 처리)
+    private static final int MIN_DETECT_SIZE = 1024;
+    // 바이트 엔트로피(비트/바이트)가 이 값 이상이고 반복도 드물면 저장 블록
+    private static final double ENTROPY_THRESHOLD = 7.9;
+    // 알려진 압축 형식으로 시작하는 블록에 적용하는 완화된 기준
+    private static final double MAGIC_ENTROPY_THRESHOLD = 7.5;
+    // 위치 중 4바이트 반복이 이 비율 이상이면 LZ77 이 이득
+    private static final double MATCH_DENSITY_THRESHOLD = 0.02;
+    private static final int MATCH_HASH_BITS = 12;
+
+    // 이미 압축되었거나 암호화된 형식의 시그니처
+    private static final byte[][] MAGIC_BYTES = {
+            {0x1F, (byte) 0x8B},                                // gzip
+            {'P', 'K', 0x03, 0x04},                             // zip, jar, docx
+            {(byte) 0x89, 'P', 'N', 'G'},                       // png
+            {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF},            // jpeg
+            {'G', 'I', 'F', '8'},                               // gif
+            {0x28, (byte) 0xB5, 0x2F, (byte) 0xFD},             // zstd
+            {(byte) 0xFD, '7', 'z', 'X', 'Z', 0x00},            // xz
+            {'B', 'Z', 'h'},                                    // bzip2
+            {'7', 'z', (byte) 0xBC, (byte) 0xAF, 0x27, 0x1C},   // 7z
+            {'R', 'a', 'r', '!'},                               // rar
+            {'O', 'g', 'g', 'S'},                               // ogg
+            {'f', 'L', 'a', 'C'},                               // flac
+            {'I', 'D', '3'},                                    // mp3
+    };
+
+    public CompressType detect(byte[] data) {
+        if (data.length < MIN_DETECT_SIZE) {
+            return CompressType.DYNAMIC_HUFFMAN;
+        }
+
+        double threshold = startsWithMagic(data) ? MAGIC_ENTROPY_THRESHOLD : ENTROPY_THRESHOLD;
+        if (entropy(data) < threshold) {
+            return CompressType.DYNAMIC_HUFFMAN;
+        }
+        if (matchDensity(data) >= MATCH_DENSITY_THRESHOLD) {
+            return CompressType.DYNAMIC_HUFFMAN;
+        }
+        return CompressType.NONE;
+    }
+
+    private boolean startsWithMagic(byte[] data) {
+        for (byte[] magic : MAGIC_BYTES) {
+            if (data.length >= magic.length && startsWith(data, magic)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean startsWith(byte[] data, byte[] prefix) {
+        for (int i = 0; i < prefix.length; i++) {
+            if (data[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 0차 바이트 엔트로피 (비트/바이트)
+    private double entropy(byte[] data) {
+        int[] histogram = new int[256];
+        for (byte b : data) {
+            histogram[b & 0xFF]++;
+        }
+
+        double entropy = 0;
+        double total = data.length;
+        for (int count : histogram) {
+            if (count > 0) {
+                double p = count / total;
+                entropy -= p * Math.log(p);
+            }
+        }
+        return entropy / Math.log(2);
+    }
+
+    // 각 위치의 4바이트가 같은 해시 칸의 직전 위치와 일치하는 비율 (충돌은 실제 비교로 걸러냄)
+    private double matchDensity(byte[] data) {
+        int[] lastPosition = new int[1 << MATCH_HASH_BITS];
+        int positions = 0;
+        int matches = 0;
+        for (int pos = 0; pos + 4 <= data.length; pos++) {
+            int word = ((data[pos] & 0xFF) << 24) | ((data[pos + 1] & 0xFF) << 16)
+                    | ((data[pos + 2] & 0xFF) << 8) | (data[pos + 3] & 0xFF);
+            int hash = (word * 0x9E3779B1) >>> (32 - MATCH_HASH_BITS);
+            int candidate = lastPosition[hash] - 1;
+            if (candidate >= 0 && data[candidate] == data[pos] && data[candidate + 1] == data[pos + 1]
+                    && data[candidate + 2] == data[pos + 2] && data[candidate + 3] == data[pos + 3]) {
+                matches++;
+            }
+            lastPosition[hash] = pos + 1;
+            positions++;
+        }
+        return positions == 0 ? 0 : (double) matches / positions;
     }
 }
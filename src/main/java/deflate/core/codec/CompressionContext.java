@@ -0,0 +1,62 @@
+package deflate.core.codec;
+
+import deflate.core.codec.huffman.HuffmanService;
+import deflate.core.codec.lz77.CompressionLevel;
+import deflate.core.codec.lz77.LZ77Service;
+import deflate.core.codec.lz77.MatchFinderType;
+import deflate.core.codec.type.DeflateFormat;
+
+// 블록 압축에 쓰는 작업 객체 묶음 - 블록마다 새로 만들지 않고 재사용
+// 해시 체인은 세대 값만 올려 초기화하므로 reset 비용이 배열 크기와 무관
+public final class CompressionContext {
+
+    // 스레드별로 (형식, 레벨, 탐색기) 조합마다 하나씩 - 병렬 압축의 작업 스레드가 블록 사이에 재사용
+    private static final ThreadLocal<CompressionContext[]> THREAD_CONTEXTS = ThreadLocal.withInitial(
+            () -> new CompressionContext[DeflateFormat.values().length * CompressionLevel.values().length
+                    * MatchFinderType.values().length]);
+
+    private final LZ77Service lz77Service;
+    private final HuffmanService huffmanService;
+
+    // keepHistory: 블록 경계를 넘어 윈도우를 이어 쓰는 순차 압축용
+    public CompressionContext(CompressionLevel level, DeflateFormat format, boolean keepHistory) {
+        this(level, format, level.matchFinder, keepHistory);
+    }
+
+    public CompressionContext(CompressionLevel level, DeflateFormat format, MatchFinderType matchFinder,
+                              boolean keepHistory) {
+        this.lz77Service = new LZ77Service(level, keepHistory, format, matchFinder);
+        this.huffmanService = new HuffmanService();
+    }
+
+    // 이력 없이 블록을 독립적으로 압축하는 현재 스레드의 컨텍스트
+    public static CompressionContext forCurrentThread(CompressionLevel level, DeflateFormat format) {
+        return forCurrentThread(level, format, level.matchFinder);
+    }
+
+    public static CompressionContext forCurrentThread(CompressionLevel level, DeflateFormat format,
+                                                      MatchFinderType matchFinder) {
+        CompressionContext[] contexts = THREAD_CONTEXTS.get();
+        int index = (format.ordinal() * CompressionLevel.values().length + level.ordinal())
+                * MatchFinderType.values().length + matchFinder.ordinal();
+        CompressionContext context = contexts[index];
+        if (context == null) {
+            context = new CompressionContext(level, format, matchFinder, false);
+            contexts[index] = context;
+        }
+        return context;
+    }
+
+    public LZ77Service getLz77Service() {
+        return lz77Service;
+    }
+
+    public HuffmanService getHuffmanService() {
+        return huffmanService;
+    }
+
+    // 다음 스트림을 처음부터 압축할 수 있도록 이력과 해시 체인을 버림
+    public void reset() {
+        lz77Service.reset();
+    }
+}
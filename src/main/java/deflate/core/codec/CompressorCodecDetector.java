@@ -2,20 +2,63 @@ package deflate.core.codec;
 
 import deflate.core.codec.compressorfactory.Codec;
 import deflate.core.codec.compressorfactory.LZ77Codec;
+import deflate.core.codec.compressorfactory.StoredCodec;
+import deflate.core.codec.lz77.CompressionLevel;
+import deflate.core.codec.lz77.MatchFinderType;
+import deflate.core.codec.lz77.ParseStrategy;
 import deflate.core.codec.type.CompressType;
+import deflate.core.codec.type.DeflateFormat;
 
 public class CompressorCodecDetector {
 
     private final CompressTypeDetector compressTypeDetector;
+    private final CompressionLevel level;
+    private final DeflateFormat format;
+    private final MatchFinderType matchFinder;
+    // null 이면 블록마다 독립된 윈도우 (작업 스레드별 컨텍스트 재사용), 아니면 스트림 전체가 공유하는 컨텍스트
+    private final CompressionContext context;
 
     public CompressorCodecDetector(final CompressTypeDetector compressTypeDetector) {
+        this(compressTypeDetector, CompressionLevel.DEFAULT);
+    }
+
+    public CompressorCodecDetector(final CompressTypeDetector compressTypeDetector, final CompressionLevel level) {
+        this(compressTypeDetector, level, DeflateFormat.LEGACY);
+    }
+
+    public CompressorCodecDetector(final CompressTypeDetector compressTypeDetector, final CompressionLevel level, final DeflateFormat format) {
+        this(compressTypeDetector, level, format, level.matchFinder);
+    }
+
+    public CompressorCodecDetector(final CompressTypeDetector compressTypeDetector, final CompressionLevel level, final DeflateFormat format, final MatchFinderType matchFinder) {
+        this(compressTypeDetector, level, format, matchFinder, null);
+    }
+
+    // 컨텍스트의 윈도우를 블록 사이에 이어 씀
+    public CompressorCodecDetector(final CompressTypeDetector compressTypeDetector, final CompressionContext context) {
+        this(compressTypeDetector, null, context.getLz77Service().getFormat(), null, context);
+    }
+
+    private CompressorCodecDetector(final CompressTypeDetector compressTypeDetector, final CompressionLevel level, final DeflateFormat format, final MatchFinderType matchFinder, final CompressionContext context) {
         this.compressTypeDetector = compressTypeDetector;
+        this.level = level;
+        this.format = format;
+        this.matchFinder = matchFinder;
+        this.context = context;
     }
 
     public final Codec createCompressorCodec(byte[] data) {
+        return createCompressorCodec(data, ParseStrategy.HEURISTIC);
+    }
+
+    public final Codec createCompressorCodec(byte[] data, ParseStrategy strategy) {
         CompressType detect = compressTypeDetector.detect(data);
-        if(detect == CompressType.DYNAMIC_HUFFMAN) {
-            return new LZ77Codec();
+        if (detect == CompressType.DYNAMIC_HUFFMAN || detect == CompressType.FIX_HUFFMAN) {
+            CompressionContext blockContext = context == null ? CompressionContext.forCurrentThread(level, format, matchFinder) : context;
+            return new LZ77Codec(blockContext.getLz77Service(), blockContext.getHuffmanService(), strategy, detect);
+        }
+        if (detect == CompressType.NONE) {
+            return new StoredCodec(context == null ? null : context.getLz77Service());
         }
 
         return null;
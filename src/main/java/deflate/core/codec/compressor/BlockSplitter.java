@@ -0,0 +1,142 @@
+package deflate.core.codec.compressor;
+
+import deflate.core.codec.header.Header;
+import deflate.core.codec.lz77.LZ77Service;
+import deflate.core.codec.type.DeflateFormat;
+import deflate.core.table.DistanceTables;
+import deflate.core.table.LengthTables;
+
+import java.util.Arrays;
+
+// LZ77 토큰열을 심볼 통계가 달라지는 지점에서 나눔
+// 구간 비용 = 심볼 엔트로피 + 동적 헤더 추정치, 둘로 나눈 비용 합이 충분히 작아질 때만 재귀적으로 분할
+final class BlockSplitter {
+    // 이보다 짧은 구간은 나누지 않음 (토큰 수)
+    private static final int MIN_BLOCK_TOKENS = 1024;
+    // 한 구간에서 평가하는 분할 후보 수 상한
+    private static final int MAX_CANDIDATES = 32;
+    // 추정 오차를 감안해 이만큼 이상 줄어들 때만 분할
+    private static final double MIN_GAIN_BITS = 512;
+    // 동적 헤더: 고정 필드와 코드 길이 코드, 사용된 심볼마다 RLE 된 코드 길이
+    private static final double HEADER_BASE_BITS = 5 + 5 + 4 + 19 * 3;
+    private static final double HEADER_BITS_PER_SYMBOL = 4;
+
+    private final DeflateFormat format;
+    private final int[] literalFrequency = new int[286];
+    private final int[] distanceFrequency = new int[30];
+    private final int[] leftLiteral = new int[286];
+    private final int[] leftDistance = new int[30];
+    private final int[] rightLiteral = new int[286];
+    private final int[] rightDistance = new int[30];
+
+    BlockSplitter(DeflateFormat format) {
+        this.format = format;
+    }
+
+    // 블록 경계 토큰 인덱스 [0, ..., count]
+    int[] split(LZ77Service.EncodingResult result) {
+        int count = result.getCount();
+        int[] boundaries = new int[Math.max(2, count / MIN_BLOCK_TOKENS + 2)];
+        boundaries[0] = 0;
+        int size = split(result, 0, count, boundaries, 1);
+        boundaries[size++] = count;
+        return Arrays.copyOf(boundaries, size);
+    }
+
+    // [from, to) 안의 경계를 boundaries[size..] 에 순서대로 추가하고 새 크기 반환
+    private int split(LZ77Service.EncodingResult result, int from, int to, int[] boundaries, int size) {
+        if (to - from < 2 * MIN_BLOCK_TOKENS) {
+            return size;
+        }
+
+        count(result, from, to, literalFrequency, distanceFrequency);
+        double whole = cost(literalFrequency, distanceFrequency);
+
+        // 왼쪽 구간 빈도를 누적하며 후보 지점마다 (왼쪽 + 나머지) 비용 평가
+        Arrays.fill(leftLiteral, 0);
+        Arrays.fill(leftDistance, 0);
+        int step = Math.max(MIN_BLOCK_TOKENS / 2, (to - from) / MAX_CANDIDATES);
+        int[] lengths = result.getLengths();
+        byte[] nextBytes = result.getNextBytes();
+        double bestCost = Double.MAX_VALUE;
+        int bestSplit = -1;
+        int position = from;
+        for (int candidate = from + MIN_BLOCK_TOKENS; candidate <= to - MIN_BLOCK_TOKENS; candidate += step) {
+            add(result, position, candidate, leftLiteral, leftDistance);
+            position = candidate;
+            // 기존 형식은 블록 마지막 매치의 nextByte 0 을 버리므로 그 뒤에서는 나누지 않음
+            if (format.nextByteTokens && lengths[candidate - 1] != 0 && nextBytes[candidate - 1] == 0) {
+                continue;
+            }
+            double splitCost = cost(leftLiteral, leftDistance) + rightCost();
+            if (splitCost < bestCost) {
+                bestCost = splitCost;
+                bestSplit = candidate;
+            }
+        }
+        if (bestSplit < 0 || whole - bestCost < MIN_GAIN_BITS) {
+            return size;
+        }
+
+        size = split(result, from, bestSplit, boundaries, size);
+        boundaries[size++] = bestSplit;
+        return split(result, bestSplit, to, boundaries, size);
+    }
+
+    // 구간 전체 빈도에서 왼쪽 빈도를 뺀 나머지 구간 비용
+    private double rightCost() {
+        for (int i = 0; i < rightLiteral.length; i++) {
+            rightLiteral[i] = literalFrequency[i] - leftLiteral[i];
+        }
+        for (int i = 0; i < rightDistance.length; i++) {
+            rightDistance[i] = distanceFrequency[i] - leftDistance[i];
+        }
+        return cost(rightLiteral, rightDistance);
+    }
+
+    private void count(LZ77Service.EncodingResult result, int from, int to, int[] literal, int[] distance) {
+        Arrays.fill(literal, 0);
+        Arrays.fill(distance, 0);
+        add(result, from, to, literal, distance);
+    }
+
+    private void add(LZ77Service.EncodingResult result, int from, int to, int[] literal, int[] distance) {
+        int[] offsets = result.getOffsets();
+        int[] lengths = result.getLengths();
+        byte[] nextBytes = result.getNextBytes();
+        for (int i = from; i < to; i++) {
+            if (lengths[i] != 0) {
+                literal[LengthTables.LENGTH_EQUAL_CODE_BASE_EXTRABIT[lengths[i]][0]]++;
+                distance[DistanceTables.search(offsets[i])[1]]++;
+            }
+            if (lengths[i] == 0 || format.nextByteTokens) {
+                literal[(nextBytes[i] & 0xFF) ^ format.literalSymbolFlip]++;
+            }
+        }
+    }
+
+    // 엔트로피 기준 심볼 비트 수 + 헤더 추정치 (추가 비트는 분할과 무관하므로 제외)
+    private double cost(int[] literal, int[] distance) {
+        literal[Header.END_OF_BLOCK]++;
+        double bits = HEADER_BASE_BITS + entropyBits(literal) + entropyBits(distance);
+        literal[Header.END_OF_BLOCK]--;
+        return bits;
+    }
+
+    private double entropyBits(int[] frequency) {
+        long total = 0;
+        int used = 0;
+        double sum = 0;
+        for (int f : frequency) {
+            if (f > 0) {
+                total += f;
+                used++;
+                sum += f * Math.log(f);
+            }
+        }
+        if (total == 0) {
+            return 0;
+        }
+        return (total * Math.log(total) - sum) / Math.log(2) + used * HEADER_BITS_PER_SYMBOL;
+    }
+}
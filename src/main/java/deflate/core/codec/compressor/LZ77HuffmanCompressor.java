@@ -1,34 +1,75 @@
 package deflate.core.codec.compressor;
 
 import deflate.core.codec.header.Header;
+import deflate.core.codec.huffman.FixedHuffmanCodes;
 import deflate.core.codec.huffman.HuffmanService;
 import deflate.core.codec.lz77.LZ77Service;
+import deflate.core.codec.lz77.ParseStrategy;
+import deflate.core.codec.type.CompressType;
+import deflate.core.codec.type.DeflateFormat;
+import deflate.core.metrics.BlockRecorder;
 import deflate.core.table.DistanceTables;
 import deflate.core.table.LengthTables;
-import deflate.core.util.BitUtil;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 
 public final class LZ77HuffmanCompressor implements Compressor<LZ77HuffmanCompressor.Tuple> {
-    LZ77Service lz77Service = new LZ77Service();
-    HuffmanService huffmanService = new HuffmanService();
+    LZ77Service lz77Service;
+    HuffmanService huffmanService;
+    ParseStrategy strategy;
+    // FIX_HUFFMAN 이면 항상 고정 코드, DYNAMIC_HUFFMAN 이면 동적/고정 중 작은 쪽
+    CompressType type;
+    // 동적 코드 길이 작업 배열 - 고정 코드가 이기면 버려지므로 동적 블록을 쓸 때만 복사해 보관
+    private final byte[] literalLengthBuffer = new byte[286];
+    private final byte[] distanceLengthBuffer = new byte[30];
+    private final byte[] codeLengthBuffer = new byte[19];
+
+    public LZ77HuffmanCompressor() {
+        this(new LZ77Service(), ParseStrategy.HEURISTIC);
+    }
+
+    public LZ77HuffmanCompressor(LZ77Service lz77Service, ParseStrategy strategy) {
+        this(lz77Service, strategy, CompressType.DYNAMIC_HUFFMAN);
+    }
+
+    public LZ77HuffmanCompressor(LZ77Service lz77Service, ParseStrategy strategy, CompressType type) {
+        this(lz77Service, new HuffmanService(), strategy, type);
+    }
+
+    // huffmanService 의 작업 배열을 블록 사이에 재사용
+    public LZ77HuffmanCompressor(LZ77Service lz77Service, HuffmanService huffmanService, ParseStrategy strategy, CompressType type) {
+        this.lz77Service = lz77Service;
+        this.huffmanService = huffmanService;
+        this.strategy = strategy;
+        this.type = type;
+    }
 
     public class Tuple {
-        final private long btype;
+        final private DeflateFormat format;
+        final private CompressType btype;
         final private int hlit;
         final private int hdist;
         final private int hclen;
         final private int[] codeLengthCodeLengths;
-        final private List<Integer> rleEncodedLengths;
-        final private Map<Integer, Long> codeLengthCodes;
+        final private int[] rleEncodedLengths;
+        final private int[] codeLengthCodes;
+        final private byte[] codeLengthCodeBits;
         final private LZ77Service.EncodingResult result;
-        final private Map<Integer, Long> literalCode;
-        final private Map<Integer, Long> distanceCode;
-
-        public Tuple(long btype, int hlit, int hdist, int hclen, int[] codeLengthCodeLengths, List<Integer> rleEncodedLengths, Map<Integer, Long> codeLengthCodes, LZ77Service.EncodingResult result, Map<Integer, Long> literalCode, Map<Integer, Long> distanceCode) {
+        // 이 블록이 기록하는 토큰 범위 result[from..to) 와 그 토큰이 덮는 원본 바이트 수
+        final private int from;
+        final private int to;
+        final private int inputLength;
+        final private int[] literalCodes;
+        final private byte[] literalLengths;
+        final private int[] distanceCodes;
+        final private byte[] distanceLengths;
+        // BFINAL 을 제외한 블록 전체 비트 수
+        final private long bitLength;
+
+        public Tuple(DeflateFormat format, CompressType btype, int hlit, int hdist, int hclen, int[] codeLengthCodeLengths, int[] rleEncodedLengths, int[] codeLengthCodes, byte[] codeLengthCodeBits, LZ77Service.EncodingResult result, int from, int to, int inputLength, int[] literalCodes, byte[] literalLengths, int[] distanceCodes, byte[] distanceLengths, long bitLength) {
+            this.format = format;
             this.btype = btype;
             this.hlit = hlit;
             this.hdist = hdist;
@@ -36,12 +77,23 @@ public final class LZ77HuffmanCompressor implements Compressor<LZ77HuffmanCompre
             this.codeLengthCodeLengths = codeLengthCodeLengths;
             this.rleEncodedLengths = rleEncodedLengths;
             this.codeLengthCodes = codeLengthCodes;
+            this.codeLengthCodeBits = codeLengthCodeBits;
             this.result = result;
-            this.literalCode = literalCode;
-            this.distanceCode = distanceCode;
+            this.from = from;
+            this.to = to;
+            this.inputLength = inputLength;
+            this.literalCodes = literalCodes;
+            this.literalLengths = literalLengths;
+            this.distanceCodes = distanceCodes;
+            this.distanceLengths = distanceLengths;
+            this.bitLength = bitLength;
         }
 
-        public long getBtype() {
+        public DeflateFormat getFormat() {
+            return format;
+        }
+
+        public CompressType getBtype() {
             return btype;
         }
 
@@ -57,114 +109,169 @@ public final class LZ77HuffmanCompressor implements Compressor<LZ77HuffmanCompre
             return hclen;
         }
 
+        // 고정 허프만 블록이면 코드 길이 헤더 관련 값은 null
         public int[] getCodeLengthCodeLengths() {
             return codeLengthCodeLengths;
         }
 
-        public List<Integer> getRleEncodedLengths() {
+        // 코드 길이 심볼 뒤에 16~18 의 반복 횟수가 이어지는 배열
+        public int[] getRleEncodedLengths() {
             return rleEncodedLengths;
         }
 
-        public Map<Integer, Long> getCodeLengthCodes() {
+        public int[] getCodeLengthCodes() {
             return codeLengthCodes;
         }
 
+        public byte[] getCodeLengthCodeBits() {
+            return codeLengthCodeBits;
+        }
+
         public LZ77Service.EncodingResult getResult() {
             return result;
         }
 
-        public Map<Integer, Long> getLiteralCode() {
-            return literalCode;
+        public int getFrom() {
+            return from;
+        }
+
+        public int getTo() {
+            return to;
+        }
+
+        public int getInputLength() {
+            return inputLength;
         }
 
-        public Map<Integer, Long> getDistanceCode() {
-            return distanceCode;
+        public int[] getLiteralCodes() {
+            return literalCodes;
+        }
+
+        public byte[] getLiteralLengths() {
+            return literalLengths;
+        }
+
+        public int[] getDistanceCodes() {
+            return distanceCodes;
+        }
+
+        public byte[] getDistanceLengths() {
+            return distanceLengths;
+        }
+
+        public long getBitLength() {
+            return bitLength;
         }
     }
 
     @Override
     public Tuple compress(byte[] data) {
         //1단계 LZ77
-        LZ77Service.EncodingResult compressed = lz77Service.generateCodes(data);
+        LZ77Service.EncodingResult compressed = lz77Service.generateCodes(data, strategy);
+        return encode(compressed, 0, compressed.getCount(), data.length);
+    }
 
-        //2단계 허프만 트리 생성
-        Map<Integer, Long> literalLengthFrequency = makeLengthFrequency(compressed);
-        Map<Integer, Long> distanceFrequency = makeDistanceFrequency(compressed);
-        Map<Integer, Integer> literalCodeLength = huffmanService.buildTreeLengthWithLimit(literalLengthFrequency, 15);
-        Map<Integer, Integer> distanceCodeLength = huffmanService.buildTreeLengthWithLimit(distanceFrequency, 15);
-        Map<Integer, Long> literalCode = huffmanService.generateCanonicalCodes(literalCodeLength);
-        Map<Integer, Long> distanceCode = huffmanService.generateCanonicalCodes(distanceCodeLength);
-
-        int[] literalLengths = new int[286];
-        for (int symbol = 0; symbol < 286; symbol++) {
-            int add = 0;
-            if (symbol <= 255) {
-                add = -128;
-            }
-            Long code = literalCode.get(symbol + add);
-            if (code != null) {
-                literalLengths[symbol] = Math.toIntExact(BitUtil.extractBits(code).get(1));
-            } else {
-                literalLengths[symbol] = 0;
-            }
+    // 토큰 통계가 바뀌는 지점에서 나눈 블록들, 블록마다 따로 허프만 코드를 만듦
+    public List<Tuple> compressBlocks(byte[] data) {
+        return compressBlocks(data, null);
+    }
+
+    // recorder 가 있으면 LZ77 과 허프만 단계 시간, 토큰 통계를 기록
+    public List<Tuple> compressBlocks(byte[] data, BlockRecorder recorder) {
+        return encodeBlocks(data, findMatches(data, recorder), recorder);
+    }
+
+    // 1단계만 - 결과는 다음 findMatches 호출 전까지만 유효
+    public LZ77Service.EncodingResult findMatches(byte[] data, BlockRecorder recorder) {
+        LZ77Service.EncodingResult compressed = lz77Service.generateCodes(data, strategy);
+        if (recorder != null) {
+            recorder.lz77Done(compressed, lz77Service.getChainSteps(), lz77Service.getFormat());
         }
+        return compressed;
+    }
+
+    // findMatches 결과를 블록으로 나누고 블록마다 허프만 코드 생성
+    public List<Tuple> encodeBlocks(byte[] data, LZ77Service.EncodingResult compressed, BlockRecorder recorder) {
+        DeflateFormat format = lz77Service.getFormat();
+        int[] boundaries = type == CompressType.FIX_HUFFMAN
+                ? new int[]{0, compressed.getCount()}
+                : new BlockSplitter(format).split(compressed);
 
-        int[] distanceLengths = new int[30];
-        for (int symbol = 0; symbol < 30; symbol++) {
-            Long code = distanceCode.get(symbol);
-            if (code != null) {
-                distanceLengths[symbol] = Math.toIntExact(BitUtil.extractBits(code).get(1));
+        List<Tuple> blocks = new ArrayList<>(boundaries.length - 1);
+        int[] lengths = compressed.getLengths();
+        int consumed = 0;
+        for (int b = 0; b + 1 < boundaries.length; b++) {
+            int from = boundaries[b];
+            int to = boundaries[b + 1];
+            int inputLength;
+            if (to == compressed.getCount()) {
+                // 마지막 블록은 남은 바이트 전부 (블록 끝 매치의 nextByte 는 없을 수 있음)
+                inputLength = data.length - consumed;
             } else {
-                distanceLengths[symbol] = 0;
+                inputLength = 0;
+                for (int i = from; i < to; i++) {
+                    inputLength += lengths[i] == 0 ? 1 : lengths[i] + (format.nextByteTokens ? 1 : 0);
+                }
             }
+            blocks.add(encode(compressed, from, to, inputLength));
+            consumed += inputLength;
+        }
+        if (recorder != null) {
+            recorder.huffmanDone();
         }
+        return blocks;
+    }
+
+    private Tuple encode(LZ77Service.EncodingResult compressed, int from, int to, int inputLength) {
+        DeflateFormat format = lz77Service.getFormat();
+
+        //2단계 허프만 트리 생성
+        int[] literalLengthFrequency = makeLengthFrequency(compressed, from, to, format);
+        int[] distanceFrequency = makeDistanceFrequency(compressed, from, to);
+        long extraBits = extraBits(literalLengthFrequency, distanceFrequency);
+        if (type == CompressType.FIX_HUFFMAN) {
+            return fixedTuple(format, compressed, from, to, inputLength, literalLengthFrequency, distanceFrequency, extraBits);
+        }
+        byte[] literalLengths = literalLengthBuffer;
+        byte[] distanceLengths = distanceLengthBuffer;
+        huffmanService.buildCodeLengths(literalLengthFrequency, 15, literalLengths);
+        huffmanService.buildCodeLengths(distanceFrequency, 15, distanceLengths);
 
         //3단계 출력
         // 2. 코드 길이 배열 생성 및 RLE 인코딩
         int literalLength = literalLengths.length;
-        for (int i = literalLengths.length - 1; i >= 0; i--) {
-            if (literalLengths[i] == 0) {
-                literalLength--;
-                continue;
-            }
-            break;
+        while (literalLength > 257 && literalLengths[literalLength - 1] == 0) {
+            literalLength--;
         }
 
+        // 매치가 없는 블록도 HDIST 는 0 이상 - 길이 0 인 거리 코드 하나를 기록
         int distanceLength = distanceLengths.length;
-        for (int i = distanceLengths.length - 1; i >= 0; i--) {
-            if (distanceLengths[i] == 0) {
-                distanceLength--;
-                continue;
-            }
-            break;
+        while (distanceLength > 1 && distanceLengths[distanceLength - 1] == 0) {
+            distanceLength--;
         }
+
         int[] combinedLengths = new int[literalLength + distanceLength];
         for (int i = 0; i < literalLength; i++) {
             combinedLengths[i] = literalLengths[i];
         }
-        for (int i = literalLength; i < combinedLengths.length; i++) {
-            combinedLengths[i] = distanceLengths[i - literalLength];
+        for (int i = 0; i < distanceLength; i++) {
+            combinedLengths[literalLength + i] = distanceLengths[i];
         }
 
-        List<Integer> rleEncoded = applyRLE(combinedLengths);
+        int[] rleEncoded = applyRLE(combinedLengths);
 
         // 3. 코드 길이 알파벳에 대한 코드 길이 생성
-        HuffmanService huffmanService = new HuffmanService();
-        Map<Integer, Long> rleFrequency = makeRleFrequency(rleEncoded);
-        Map<Integer, Integer> lengths = huffmanService.buildTreeLengthWithLimit(rleFrequency, 7);
-        Map<Integer, Long> codes = huffmanService.generateCanonicalCodes(lengths);
+        byte[] lengths = codeLengthBuffer;
+        huffmanService.buildCodeLengths(makeRleFrequency(rleEncoded), 7, lengths);
 
         int maxCodeLengthCode = Header.CODE_LENGTH_CODE_ORDER.length;
-        for (; maxCodeLengthCode >= 0; maxCodeLengthCode--) {
-            if (lengths.containsKey(Header.CODE_LENGTH_CODE_ORDER[maxCodeLengthCode - 1])) {
-                break;
-            }
+        while (maxCodeLengthCode > 4 && lengths[Header.CODE_LENGTH_CODE_ORDER[maxCodeLengthCode - 1]] == 0) {
+            maxCodeLengthCode--;
         }
 
         int[] codeLengths = new int[maxCodeLengthCode];
         for (int i = 0; i < maxCodeLengthCode; i++) {
-            int symbol = Header.CODE_LENGTH_CODE_ORDER[i];
-            codeLengths[i] = lengths.getOrDefault(symbol, 0);
+            codeLengths[i] = lengths[Header.CODE_LENGTH_CODE_ORDER[i]];
         }
 
         // HLIT: 사용된 리터럴/길이 코드 수 - 257
@@ -175,48 +282,107 @@ public final class LZ77HuffmanCompressor implements Compressor<LZ77HuffmanCompre
 
         // HCLEN: 사용된 코드 길이 알파벳 코드 수 - 4
         int hclen = maxCodeLengthCode - 4;
-        return new Tuple(2, hlit, hdist, hclen, codeLengths, rleEncoded, codes, compressed, literalCode, distanceCode);
+
+        // 4. 동적 헤더를 포함한 크기가 고정 코드보다 크면 고정 허프만 블록 사용
+        long dynamicBits = 2 + 5 + 5 + 4 + 3L * maxCodeLengthCode
+                + rleBits(rleEncoded, lengths)
+                + symbolBits(literalLengthFrequency, literalLengths)
+                + symbolBits(distanceFrequency, distanceLengths)
+                + extraBits;
+        Tuple fixed = fixedTuple(format, compressed, from, to, inputLength, literalLengthFrequency, distanceFrequency, extraBits);
+        if (fixed.getBitLength() <= dynamicBits) {
+            return fixed;
+        }
+        literalLengths = literalLengths.clone();
+        distanceLengths = distanceLengths.clone();
+        lengths = lengths.clone();
+        int[] literalCodes = huffmanService.generateCanonicalCodes(literalLengths, format.bitOrder);
+        int[] distanceCodes = huffmanService.generateCanonicalCodes(distanceLengths, format.bitOrder);
+        int[] codes = huffmanService.generateCanonicalCodes(lengths, format.bitOrder);
+        return new Tuple(format, CompressType.DYNAMIC_HUFFMAN, hlit, hdist, hclen, codeLengths, rleEncoded, codes, lengths, compressed, from, to, inputLength, literalCodes, literalLengths, distanceCodes, distanceLengths, dynamicBits);
     }
 
-    private Map<Integer, Long> makeLengthFrequency(LZ77Service.EncodingResult compressed) {
-        int count = compressed.getCount();
+    private Tuple fixedTuple(DeflateFormat format, LZ77Service.EncodingResult compressed, int from, int to, int inputLength, int[] literalLengthFrequency, int[] distanceFrequency, long extraBits) {
+        long bitLength = 2 + symbolBits(literalLengthFrequency, FixedHuffmanCodes.LITERAL_LENGTHS)
+                + symbolBits(distanceFrequency, FixedHuffmanCodes.DISTANCE_LENGTHS)
+                + extraBits;
+        return new Tuple(format, CompressType.FIX_HUFFMAN, 0, 0, 0, null, null, null, null, compressed, from, to, inputLength,
+                FixedHuffmanCodes.literalCodes(format.bitOrder), FixedHuffmanCodes.LITERAL_LENGTHS,
+                FixedHuffmanCodes.distanceCodes(format.bitOrder), FixedHuffmanCodes.DISTANCE_LENGTHS, bitLength);
+    }
+
+    // 길이/거리 코드의 추가 비트 합 - 어떤 허프만 코드를 쓰든 같음
+    private long extraBits(int[] literalLengthFrequency, int[] distanceFrequency) {
+        long bits = 0;
+        for (int symbol = 257; symbol < literalLengthFrequency.length; symbol++) {
+            bits += (long) literalLengthFrequency[symbol] * LengthTables.CODE_EQUAL_BASE_EXTRABIT_CODE[symbol - 257][1];
+        }
+        for (int symbol = 0; symbol < distanceFrequency.length; symbol++) {
+            bits += (long) distanceFrequency[symbol] * DistanceTables.CODE_EQUAL_BASE_CODE_EXTRABIT[symbol][2];
+        }
+        return bits;
+    }
+
+    private long symbolBits(int[] frequency, byte[] codeLengths) {
+        long bits = 0;
+        for (int symbol = 0; symbol < frequency.length; symbol++) {
+            bits += (long) frequency[symbol] * codeLengths[symbol];
+        }
+        return bits;
+    }
+
+    private long rleBits(int[] rleEncoded, byte[] codeLengthCodeBits) {
+        long bits = 0;
+        for (int i = 0; i < rleEncoded.length; i++) {
+            int symbol = rleEncoded[i];
+            bits += codeLengthCodeBits[symbol];
+            if (symbol >= 16) {
+                bits += symbol == 16 ? 2 : symbol == 17 ? 3 : 7;
+                i++;
+            }
+        }
+        return bits;
+    }
+
+    private int[] makeLengthFrequency(LZ77Service.EncodingResult compressed, int from, int to, DeflateFormat format) {
         int[] lengths = compressed.getLengths();
         byte[] nextBytes = compressed.getNextBytes();
 
-        Map<Integer, Long> literalLengthFrequency = new HashMap<>();
-        for (int i = 0; i < count; i++) {
-            int[] code = LengthTables.LENGTH_EQUAL_CODE_BASE_EXTRABIT[lengths[i]];
-            literalLengthFrequency.put(code[0], literalLengthFrequency.getOrDefault(code[0], 0L) + 1);
-            literalLengthFrequency.put((int) nextBytes[i], literalLengthFrequency.getOrDefault((int) nextBytes[i], 0L) + 1);
+        int[] literalLengthFrequency = new int[286];
+        for (int i = from; i < to; i++) {
+            if (lengths[i] != 0) {
+                literalLengthFrequency[LengthTables.LENGTH_EQUAL_CODE_BASE_EXTRABIT[lengths[i]][0]]++;
+            }
+            // nextByte 가 없는 형식의 매치 토큰은 리터럴을 기록하지 않음
+            if (lengths[i] == 0 || format.nextByteTokens) {
+                literalLengthFrequency[(nextBytes[i] & 0xFF) ^ format.literalSymbolFlip]++;
+            }
         }
-        literalLengthFrequency.put(256, 1L);
+        literalLengthFrequency[Header.END_OF_BLOCK] = 1;
 
         return literalLengthFrequency;
     }
 
-    private Map<Integer, Long> makeDistanceFrequency(LZ77Service.EncodingResult compressed) {
-        int count = compressed.getCount();
+    private int[] makeDistanceFrequency(LZ77Service.EncodingResult compressed, int from, int to) {
         int[] offsets = compressed.getOffsets();
-        Map<Integer, Long> distanceFrequency = new HashMap<>();
-        for (int i = 0; i < count; i++) {
+        int[] distanceFrequency = new int[30];
+        for (int i = from; i < to; i++) {
             if (offsets[i] > 0) {
-                int[] offsetCode = DistanceTables.search(offsets[i]);
-                distanceFrequency.put(offsetCode[1], distanceFrequency.getOrDefault(offsetCode[1], 0L) + 1);
+                distanceFrequency[DistanceTables.search(offsets[i])[1]]++;
             }
         }
 
         return distanceFrequency;
     }
 
-    private Map<Integer, Long> makeRleFrequency(List<Integer> rleEncoded) {
-        Map<Integer, Long> rleFrequency = new HashMap<>();
-        for (int i = 0; i < rleEncoded.size(); i++) {
-            int rle = rleEncoded.get(i);
+    private int[] makeRleFrequency(int[] rleEncoded) {
+        int[] rleFrequency = new int[19];
+        for (int i = 0; i < rleEncoded.length; i++) {
+            int rle = rleEncoded[i];
             if (0 <= rle && rle <= 15) {
-                rleFrequency.put(rle, rleFrequency.getOrDefault(rle, 0L) + 1);
-
+                rleFrequency[rle]++;
             } else if (16 <= rle && rle <= 18) {
-                rleFrequency.put(rle, rleFrequency.getOrDefault(rle, 0L) + 1);
+                rleFrequency[rle]++;
                 i++;
             } else {
                 throw new RuntimeException("rle code out of range");
@@ -226,8 +392,10 @@ public final class LZ77HuffmanCompressor implements Compressor<LZ77HuffmanCompre
         return rleFrequency;
     }
 
-    private List<Integer> applyRLE(int[] codeLengths) {
-        List<Integer> rle = new ArrayList<>();
+    private int[] applyRLE(int[] codeLengths) {
+        // 심볼마다 최대 2칸(심볼, 반복 횟수)
+        int[] rle = new int[codeLengths.length * 2];
+        int size = 0;
         int i = 0;
 
         while (i < codeLengths.length) {
@@ -247,24 +415,24 @@ public final class LZ77HuffmanCompressor implements Compressor<LZ77HuffmanCompre
                     if (runLength >= 11) {
                         // 18: 0 반복 (11-138회)
                         int repeatCount = Math.min(runLength, 138);
-                        rle.add(18);
-                        rle.add(repeatCount - 11);
+                        rle[size++] = 18;
+                        rle[size++] = repeatCount - 11;
                         runLength -= repeatCount;
                     } else if (runLength >= 3) {
                         // 17: 0 반복 (3-10회)
                         int repeatCount = Math.min(runLength, 10);
-                        rle.add(17);
-                        rle.add(repeatCount - 3);
+                        rle[size++] = 17;
+                        rle[size++] = repeatCount - 3;
                         runLength -= repeatCount;
                     } else {
                         // 직접 0 추가
-                        rle.add(0);
+                        rle[size++] = 0;
                         runLength--;
                     }
                 }
             } else {
                 // 첫 번째 길이 직접 추가
-                rle.add(currentLen);
+                rle[size++] = currentLen;
                 runLength--;
 
                 // 반복 처리
@@ -272,18 +440,18 @@ public final class LZ77HuffmanCompressor implements Compressor<LZ77HuffmanCompre
                     if (runLength >= 3) {
                         // 16: 이전 길이 반복 (3-6회)
                         int repeatCount = Math.min(runLength, 6);
-                        rle.add(16);
-                        rle.add(repeatCount - 3);
+                        rle[size++] = 16;
+                        rle[size++] = repeatCount - 3;
                         runLength -= repeatCount;
                     } else {
                         // 직접 길이 추가
-                        rle.add(currentLen);
+                        rle[size++] = currentLen;
                         runLength--;
                     }
                 }
             }
         }
 
-        return rle;
+        return Arrays.copyOf(rle, size);
     }
 }
@@ -6,5 +6,14 @@ import java.io.IOException;
 
 public interface Codec {
 
-    void compressAndWrite(byte[] data, OutputStream out) throws IOException;
+    // bfinal: 이 데이터가 스트림의 마지막 블록이면 1 (블록 헤더는 코덱이 기록)
+    void compressAndWrite(byte[] data, long bfinal, OutputStream out) throws IOException;
+
+    // 파이프라인 압축용 - 윈도우를 갱신하는 단계(매치 탐색)만 지금 하고 비트 기록은 반환한 작업으로 미룸
+    // 작업은 블록 순서대로 실행해야 하며, 다음 블록의 prepare 와 동시에 실행해도 됨
+    PendingWrite prepare(byte[] data, long bfinal);
+
+    interface PendingWrite {
+        void writeTo(OutputStream out) throws IOException;
+    }
 }
@@ -2,17 +2,91 @@ package deflate.core.codec.compressorfactory;
 
 import deflate.core.codec.compressor.LZ77HuffmanCompressor;
 import deflate.core.codec.compressorwriter.LZ77Writer;
+import deflate.core.codec.compressorwriter.StoredWriter;
+import deflate.core.codec.huffman.HuffmanService;
+import deflate.core.codec.lz77.CompressionLevel;
+import deflate.core.codec.lz77.LZ77Service;
+import deflate.core.codec.lz77.ParseStrategy;
+import deflate.core.codec.type.CompressType;
 import deflate.core.io.OutputStream;
+import deflate.core.metrics.BlockRecorder;
+import deflate.core.metrics.CompressionMetrics;
 
 import java.io.IOException;
+import java.util.List;
 
 public final class LZ77Codec implements Codec {
 
+    private final LZ77Service lz77Service;
+    private final HuffmanService huffmanService;
+    private final ParseStrategy strategy;
+    private final CompressType type;
+
+    public LZ77Codec() {
+        this(CompressionLevel.DEFAULT);
+    }
+
+    public LZ77Codec(CompressionLevel level) {
+        this(new LZ77Service(level, false), ParseStrategy.HEURISTIC);
+    }
+
+    // 블록 사이에 이력을 유지하려면 스트림 전체에서 같은 LZ77Service 를 넘김
+    public LZ77Codec(LZ77Service lz77Service, ParseStrategy strategy) {
+        this(lz77Service, strategy, CompressType.DYNAMIC_HUFFMAN);
+    }
+
+    // FIX_HUFFMAN: 트리 생성 없이 고정 코드, DYNAMIC_HUFFMAN: 동적 코드와 고정 코드 중 작은 쪽
+    public LZ77Codec(LZ77Service lz77Service, ParseStrategy strategy, CompressType type) {
+        this(lz77Service, new HuffmanService(), strategy, type);
+    }
+
+    public LZ77Codec(LZ77Service lz77Service, HuffmanService huffmanService, ParseStrategy strategy, CompressType type) {
+        this.lz77Service = lz77Service;
+        this.huffmanService = huffmanService;
+        this.strategy = strategy;
+        this.type = type;
+    }
+
+    @Override
+    public void compressAndWrite(byte[] data, long bfinal, OutputStream out) throws IOException {
+        LZ77HuffmanCompressor lz77HuffmanCompressor = new LZ77HuffmanCompressor(lz77Service, huffmanService, strategy, type);
+        BlockRecorder recorder = CompressionMetrics.startBlock();
+        LZ77Service.EncodingResult tokens = lz77HuffmanCompressor.findMatches(data, recorder);
+        write(lz77HuffmanCompressor, data, tokens, bfinal, recorder, out);
+    }
+
+    // 다음 블록의 매치 탐색이 작업 배열을 덮어쓰므로 토큰은 복사해 넘김
     @Override
-    public void compressAndWrite(byte[] data, OutputStream out) throws IOException {
-        LZ77HuffmanCompressor lz77HuffmanCompressor = new LZ77HuffmanCompressor();
-        LZ77Writer lz77Writer = new LZ77Writer();
+    public PendingWrite prepare(byte[] data, long bfinal) {
+        LZ77HuffmanCompressor lz77HuffmanCompressor = new LZ77HuffmanCompressor(lz77Service, huffmanService, strategy, type);
+        BlockRecorder recorder = CompressionMetrics.startBlock();
+        LZ77Service.EncodingResult tokens = lz77HuffmanCompressor.findMatches(data, recorder).copy();
+        return out -> {
+            recorder.resume();
+            write(lz77HuffmanCompressor, data, tokens, bfinal, recorder, out);
+        };
+    }
+
+    private void write(LZ77HuffmanCompressor lz77HuffmanCompressor, byte[] data, LZ77Service.EncodingResult tokens,
+                       long bfinal, BlockRecorder recorder, OutputStream out) throws IOException {
+        long startBits = out.getBitLength();
+        List<LZ77HuffmanCompressor.Tuple> blocks = lz77HuffmanCompressor.encodeBlocks(data, tokens, recorder);
+
+        int offset = 0;
+        for (int i = 0; i < blocks.size(); i++) {
+            LZ77HuffmanCompressor.Tuple compressed = blocks.get(i);
+            long blockFinal = i == blocks.size() - 1 ? bfinal : 0;
+            int length = compressed.getInputLength();
 
-        lz77Writer.write(lz77HuffmanCompressor.compress(data), out);
+            // 허프만 블록이 원본보다 커지면 그 구간만 저장 블록으로 대체 (윈도우에는 이미 반영됨)
+            if (compressed.getBitLength() >= StoredWriter.bitLength(length)) {
+                new StoredWriter().write(data, offset, length, blockFinal, out);
+            } else {
+                out.writeBit(blockFinal, 1);
+                new LZ77Writer().write(compressed, out);
+            }
+            offset += length;
+        }
+        recorder.finish(false, data.length, out.getBitLength() - startBits, blocks.size());
     }
 }
@@ -0,0 +1,42 @@
+package deflate.core.codec.compressorfactory;
+
+import deflate.core.codec.compressorwriter.StoredWriter;
+import deflate.core.codec.lz77.LZ77Service;
+import deflate.core.io.OutputStream;
+import deflate.core.metrics.BlockRecorder;
+import deflate.core.metrics.CompressionMetrics;
+
+import java.io.IOException;
+
+public final class StoredCodec implements Codec {
+
+    // 블록 사이에 이력을 유지하는 윈도우, 없으면 null
+    private final LZ77Service window;
+
+    public StoredCodec() {
+        this(null);
+    }
+
+    public StoredCodec(LZ77Service window) {
+        this.window = window;
+    }
+
+    @Override
+    public void compressAndWrite(byte[] data, long bfinal, OutputStream out) throws IOException {
+        prepare(data, bfinal).writeTo(out);
+    }
+
+    @Override
+    public PendingWrite prepare(byte[] data, long bfinal) {
+        BlockRecorder recorder = CompressionMetrics.startBlock();
+        // 다음 블록이 이 블록을 참조할 수 있도록 윈도우에는 반영
+        if (window != null) {
+            window.appendHistory(data);
+        }
+        return out -> {
+            long startBits = out.getBitLength();
+            new StoredWriter().write(data, bfinal, out);
+            recorder.finish(true, data.length, out.getBitLength() - startBits, 1);
+        };
+    }
+}
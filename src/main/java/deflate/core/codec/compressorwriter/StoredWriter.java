@@ -0,0 +1,41 @@
+package deflate.core.codec.compressorwriter;
+
+import deflate.core.codec.type.CompressType;
+import deflate.core.io.OutputStream;
+
+import java.io.IOException;
+
+// 비압축 블록(BTYPE=00): 바이트 경계 정렬 후 LEN(16비트), NLEN(LEN 의 1의 보수), 원본 바이트
+public final class StoredWriter {
+    public static final int MAX_STORED_LENGTH = 65535;
+    // BFINAL + BTYPE + 최대 정렬 비트 + LEN + NLEN
+    private static final int HEADER_BITS = 3 + 7 + 32;
+
+    // LEN 필드 범위를 넘는 데이터는 여러 블록으로 나누고 마지막 블록에만 bfinal 을 기록
+    public void write(byte[] data, long bfinal, OutputStream out) throws IOException {
+        write(data, 0, data.length, bfinal, out);
+    }
+
+    // data[from..from+size) 만 기록
+    public void write(byte[] data, int from, int size, long bfinal, OutputStream out) throws IOException {
+        int offset = from;
+        int end = from + size;
+        do {
+            int length = Math.min(MAX_STORED_LENGTH, end - offset);
+            boolean last = offset + length == end;
+            out.writeBit(last ? bfinal : 0, 1);
+            out.writeBit(CompressType.NONE.value, 2);
+            out.alignToByte();
+            out.writeBit(length, 16);
+            out.writeBit(~length, 16);
+            out.writeByte(data, offset, length);
+            offset += length;
+        } while (offset < end);
+    }
+
+    // length 바이트를 저장 블록으로 기록할 때의 최대 비트 수
+    public static long bitLength(int length) {
+        int blocks = Math.max(1, (length + MAX_STORED_LENGTH - 1) / MAX_STORED_LENGTH);
+        return (long) blocks * HEADER_BITS + 8L * length;
+    }
+}
@@ -0,0 +1,37 @@
+package deflate.core.codec.frame;
+
+import deflate.core.codec.lz77.CompressionLevel;
+import deflate.core.codec.type.DeflateFormat;
+import deflate.core.io.InputStream;
+import deflate.core.io.OutputStream;
+
+import java.io.IOException;
+import java.util.zip.Checksum;
+
+// raw deflate 스트림 앞뒤에 붙는 컨테이너 헤더와 트레일러
+public interface Frame {
+
+    Checksum createChecksum();
+
+    void writeHeader(OutputStream out, CompressionLevel level) throws IOException;
+
+    // 마지막 블록 뒤에서 호출, 바이트 경계 정렬은 프레임이 처리
+    void writeTrailer(OutputStream out, Checksum checksum, long size) throws IOException;
+
+    void readHeader(InputStream in) throws IOException;
+
+    // 복원한 데이터의 체크섬과 크기를 트레일러와 대조
+    void readTrailer(InputStream in, Checksum checksum, long size) throws IOException;
+
+    // 래퍼가 없는 형식이면 null
+    static Frame of(DeflateFormat format) {
+        switch (format) {
+            case ZLIB:
+                return new ZlibFrame();
+            case GZIP:
+                return new GzipFrame();
+            default:
+                return null;
+        }
+    }
+}
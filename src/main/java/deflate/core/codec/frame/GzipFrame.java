@@ -0,0 +1,116 @@
+package deflate.core.codec.frame;
+
+import deflate.core.codec.lz77.CompressionLevel;
+import deflate.core.io.InputStream;
+import deflate.core.io.OutputStream;
+
+import java.io.IOException;
+import java.util.zip.CRC32;
+import java.util.zip.Checksum;
+
+// RFC 1952 gzip 멤버 하나
+public final class GzipFrame implements Frame {
+    private static final int ID1 = 0x1F;
+    private static final int ID2 = 0x8B;
+    private static final int CM_DEFLATE = 8;
+    private static final int OS_UNKNOWN = 255;
+
+    private static final int FHCRC = 0x02;
+    private static final int FEXTRA = 0x04;
+    private static final int FNAME = 0x08;
+    private static final int FCOMMENT = 0x10;
+    private static final int RESERVED = 0xE0;
+
+    @Override
+    public Checksum createChecksum() {
+        return new CRC32();
+    }
+
+    @Override
+    public void writeHeader(OutputStream out, CompressionLevel level) throws IOException {
+        out.writeByte(ID1);
+        out.writeByte(ID2);
+        out.writeByte(CM_DEFLATE);
+        out.writeByte(0);           // FLG
+        writeIntLE(out, 0);         // MTIME 없음
+        // XFL: 2 = 최대 압축, 4 = 가장 빠른 압축
+        out.writeByte(level == CompressionLevel.LEVEL_9 ? 2 : level == CompressionLevel.LEVEL_1 ? 4 : 0);
+        out.writeByte(OS_UNKNOWN);
+    }
+
+    @Override
+    public void writeTrailer(OutputStream out, Checksum checksum, long size) throws IOException {
+        out.alignToByte();
+        writeIntLE(out, checksum.getValue());
+        writeIntLE(out, size);      // ISIZE: 원본 크기 mod 2^32
+    }
+
+    @Override
+    public void readHeader(InputStream in) throws IOException {
+        if (readUnsignedByte(in) != ID1 || readUnsignedByte(in) != ID2) {
+            throw new IOException("gzip 시그니처가 아님");
+        }
+        if (readUnsignedByte(in) != CM_DEFLATE) {
+            throw new IOException("지원하지 않는 gzip 압축 방식");
+        }
+        int flags = readUnsignedByte(in);
+        if ((flags & RESERVED) != 0) {
+            throw new IOException("gzip 예약 플래그가 설정됨");
+        }
+        // MTIME(4), XFL, OS
+        for (int i = 0; i < 6; i++) {
+            in.readByte();
+        }
+        if ((flags & FEXTRA) != 0) {
+            int length = readUnsignedByte(in) | (readUnsignedByte(in) << 8);
+            for (int i = 0; i < length; i++) {
+                in.readByte();
+            }
+        }
+        if ((flags & FNAME) != 0) {
+            skipZeroTerminated(in);
+        }
+        if ((flags & FCOMMENT) != 0) {
+            skipZeroTerminated(in);
+        }
+        if ((flags & FHCRC) != 0) {
+            in.readByte();
+            in.readByte();
+        }
+    }
+
+    @Override
+    public void readTrailer(InputStream in, Checksum checksum, long size) throws IOException {
+        in.alignToByte();
+        if (readIntLE(in) != checksum.getValue()) {
+            throw new IOException("gzip CRC-32 불일치");
+        }
+        if (readIntLE(in) != (size & 0xFFFFFFFFL)) {
+            throw new IOException("gzip 원본 크기 불일치");
+        }
+    }
+
+    private void skipZeroTerminated(InputStream in) throws IOException {
+        while (in.readByte() != 0) {
+            // 이름/주석은 사용하지 않음
+        }
+    }
+
+    private void writeIntLE(OutputStream out, long value) throws IOException {
+        for (int i = 0; i < 4; i++) {
+            out.writeByte((value >>> (8 * i)) & 0xFF);
+        }
+    }
+
+    private long readIntLE(InputStream in) throws IOException {
+        long value = 0;
+        for (int i = 0; i < 4; i++) {
+            value |= (long) readUnsignedByte(in) << (8 * i);
+        }
+        return value;
+    }
+
+    private int readUnsignedByte(InputStream in) throws IOException {
+        return in.readByte() & 0xFF;
+    }
+}
@@ -0,0 +1,69 @@
+package deflate.core.codec.frame;
+
+import deflate.core.codec.lz77.CompressionLevel;
+import deflate.core.io.InputStream;
+import deflate.core.io.OutputStream;
+
+import java.io.IOException;
+import java.util.zip.Adler32;
+import java.util.zip.Checksum;
+
+// RFC 1950 zlib 스트림
+public final class ZlibFrame implements Frame {
+    // CM = 8 (deflate), CINFO = 7 (32KB 윈도우)
+    private static final int CMF = 0x78;
+    private static final int FDICT = 0x20;
+
+    @Override
+    public Checksum createChecksum() {
+        return new Adler32();
+    }
+
+    @Override
+    public void writeHeader(OutputStream out, CompressionLevel level) throws IOException {
+        // FLEVEL: 0 가장 빠름, 1 빠름, 2 기본, 3 최대 압축
+        int levelNumber = level.ordinal() + 1;
+        int flevel = levelNumber == 1 ? 0 : levelNumber < 6 ? 1 : levelNumber == 6 ? 2 : 3;
+        int flg = flevel << 6;
+        // FCHECK: CMF * 256 + FLG 가 31 의 배수가 되도록
+        flg += 31 - ((CMF << 8) | flg) % 31;
+        out.writeByte(CMF);
+        out.writeByte(flg);
+    }
+
+    @Override
+    public void writeTrailer(OutputStream out, Checksum checksum, long size) throws IOException {
+        out.alignToByte();
+        long adler = checksum.getValue();
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            out.writeByte((adler >>> shift) & 0xFF);
+        }
+    }
+
+    @Override
+    public void readHeader(InputStream in) throws IOException {
+        int cmf = in.readByte() & 0xFF;
+        int flg = in.readByte() & 0xFF;
+        if ((cmf & 0x0F) != 8 || (cmf >>> 4) > 7) {
+            throw new IOException("지원하지 않는 zlib 압축 방식");
+        }
+        if (((cmf << 8) | flg) % 31 != 0) {
+            throw new IOException("zlib 헤더 검사값 불일치");
+        }
+        if ((flg & FDICT) != 0) {
+            throw new IOException("zlib 사전(FDICT)은 지원하지 않음");
+        }
+    }
+
+    @Override
+    public void readTrailer(InputStream in, Checksum checksum, long size) throws IOException {
+        in.alignToByte();
+        long adler = 0;
+        for (int i = 0; i < 4; i++) {
+            adler = (adler << 8) | (in.readByte() & 0xFF);
+        }
+        if (adler != checksum.getValue()) {
+            throw new IOException("zlib Adler-32 불일치");
+        }
+    }
+}
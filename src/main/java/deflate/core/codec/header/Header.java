@@ -1,5 +1,7 @@
 package deflate.core.codec.header;
 
+import deflate.core.codec.huffman.HuffmanDecoder;
+
 import java.util.List;
 import java.util.Map;
 
@@ -7,12 +9,17 @@ public class Header {
     public static final int[] CODE_LENGTH_CODE_ORDER = {
             16, 17, 18, 0, 8, 7, 9, 6, 10, 5, 11, 4, 12, 3, 13, 2, 14, 1, 15
     };
+    // 리터럴 심볼 = (바이트 & 0xFF) ^ LITERAL_SYMBOL_FLIP, 바이트 값 -128~127 이 심볼 0~255 에 대응
+    public static final int LITERAL_SYMBOL_FLIP = 0x80;
+    public static final int END_OF_BLOCK = 256;
 
     private long bfinal;
     private long btype;
     private int hlit;
     private int hdist;
     private int hclen;
+    // 저장 블록의 바이트 수
+    private int storedLength;
 
 
     private int[] codeLengthCodeLengths;
@@ -20,20 +27,27 @@ public class Header {
     private Map<Integer, Long> codeLengthCodes;
 
 
-    private Map<Integer, Integer> codeLengthCodeLengthsMap;
-    private Map<Long, Integer> codeLengthAlphabetTree;
-    private List<Integer> decompressedCodeLengths;
-    private Map<Integer, Integer> literalLengths;
-    private Map<Integer, Integer> distanceLengths;
-    private Map<Long, Integer> literalTree;
-    private Map<Long, Integer> distanceTree;
+    private HuffmanDecoder codeLengthAlphabetDecoder;
+    private int[] decompressedCodeLengths;
+    private int[] literalLengths;
+    private int[] distanceLengths;
+    private HuffmanDecoder literalDecoder;
+    private HuffmanDecoder distanceDecoder;
 
     private Header() {
     }
 
-    private Header(long bfinal, long btype) {
+    private Header(long bfinal, long btype, int storedLength) {
+        this.bfinal = bfinal;
+        this.btype = btype;
+        this.storedLength = storedLength;
+    }
+
+    private Header(long bfinal, long btype, HuffmanDecoder literalDecoder, HuffmanDecoder distanceDecoder) {
         this.bfinal = bfinal;
         this.btype = btype;
+        this.literalDecoder = literalDecoder;
+        this.distanceDecoder = distanceDecoder;
     }
 
     private Header(long bfinal, long btype, int hlit, int hdist, int hclen, int[] codeLengthCodeLengths, List<Integer> rleEncodedLengths, Map<Integer, Long> codeLengthCodes) {
@@ -47,31 +61,35 @@ public class Header {
         this.codeLengthCodes = codeLengthCodes;
     }
 
-    private Header(long bfinal, long btype, int hlit, int hdist, int hclen, Map<Integer, Integer> codeLengthCodeLengthsMap, Map<Long, Integer> codeLengthAlphabetTree, List<Integer> decompressedCodeLengths, Map<Integer, Integer> literalLengths, Map<Integer, Integer> distanceLengths, Map<Long, Integer> literalTree, Map<Long, Integer> distanceTree) {
+    private Header(long bfinal, long btype, int hlit, int hdist, int hclen, int[] codeLengthCodeLengths, HuffmanDecoder codeLengthAlphabetDecoder, int[] decompressedCodeLengths, int[] literalLengths, int[] distanceLengths, HuffmanDecoder literalDecoder, HuffmanDecoder distanceDecoder) {
         this.bfinal = bfinal;
         this.btype = btype;
         this.hlit = hlit;
         this.hdist = hdist;
         this.hclen = hclen;
-        this.codeLengthCodeLengthsMap = codeLengthCodeLengthsMap;
-        this.codeLengthAlphabetTree = codeLengthAlphabetTree;
+        this.codeLengthCodeLengths = codeLengthCodeLengths;
+        this.codeLengthAlphabetDecoder = codeLengthAlphabetDecoder;
         this.decompressedCodeLengths = decompressedCodeLengths;
         this.literalLengths = literalLengths;
         this.distanceLengths = distanceLengths;
-        this.literalTree = literalTree;
-        this.distanceTree = distanceTree;
+        this.literalDecoder = literalDecoder;
+        this.distanceDecoder = distanceDecoder;
     }
 
     public static Header createEncodedHeader(long bfinal, long btype, int hlit, int hdist, int hclen, int[] codeLengthCodeLengths, List<Integer> rleEncodedLengths, Map<Integer, Long> codeLengthCodes) {
         return new Header(bfinal, btype, hlit, hdist, hclen, codeLengthCodeLengths, rleEncodedLengths, codeLengthCodes);
     }
 
-    public static Header createDecodedHeaderDynamicCompressed(long bfinal, long btype, int hlit, int hdist, int hclen, Map<Integer, Integer> codeLengthCodeLengthsMap, Map<Long, Integer> codeLengthAlphabetTree, List<Integer> decompressedCodeLengths, Map<Integer, Integer> literalLengths, Map<Integer, Integer> distanceLengths, Map<Long, Integer> literalTree, Map<Long, Integer> distanceTree) {
-        return new Header(bfinal, btype, hlit, hdist, hclen, codeLengthCodeLengthsMap, codeLengthAlphabetTree, decompressedCodeLengths, literalLengths, distanceLengths, literalTree, distanceTree);
+    public static Header createDecodedHeaderDynamicCompressed(long bfinal, long btype, int hlit, int hdist, int hclen, int[] codeLengthCodeLengths, HuffmanDecoder codeLengthAlphabetDecoder, int[] decompressedCodeLengths, int[] literalLengths, int[] distanceLengths, HuffmanDecoder literalDecoder, HuffmanDecoder distanceDecoder) {
+        return new Header(bfinal, btype, hlit, hdist, hclen, codeLengthCodeLengths, codeLengthAlphabetDecoder, decompressedCodeLengths, literalLengths, distanceLengths, literalDecoder, distanceDecoder);
     }
 
-    public static Header createDecodedHeaderNoneCompressed(long bfinal, long btype) {
-        return new Header(bfinal, btype);
+    public static Header createDecodedHeaderFixedCompressed(long bfinal, long btype, HuffmanDecoder literalDecoder, HuffmanDecoder distanceDecoder) {
+        return new Header(bfinal, btype, literalDecoder, distanceDecoder);
+    }
+
+    public static Header createDecodedHeaderNoneCompressed(long bfinal, long btype, int storedLength) {
+        return new Header(bfinal, btype, storedLength);
     }
 
     public long getBfinal() {
@@ -94,6 +112,10 @@ public class Header {
         return hclen;
     }
 
+    public int getStoredLength() {
+        return storedLength;
+    }
+
     public int[] getCodeLengthCodeLengths() {
         return codeLengthCodeLengths;
     }
@@ -106,31 +128,27 @@ public class Header {
         return codeLengthCodes;
     }
 
-    public Map<Integer, Integer> getCodeLengthCodeLengthsMap() {
-        return codeLengthCodeLengthsMap;
-    }
-
-    public Map<Long, Integer> getCodeLengthAlphabetTree() {
-        return codeLengthAlphabetTree;
+    public HuffmanDecoder getCodeLengthAlphabetDecoder() {
+        return codeLengthAlphabetDecoder;
     }
 
-    public List<Integer> getDecompressedCodeLengths() {
+    public int[] getDecompressedCodeLengths() {
         return decompressedCodeLengths;
     }
 
-    public Map<Integer, Integer> getLiteralLengths() {
+    public int[] getLiteralLengths() {
         return literalLengths;
     }
 
-    public Map<Integer, Integer> getDistanceLengths() {
+    public int[] getDistanceLengths() {
         return distanceLengths;
     }
 
-    public Map<Long, Integer> getLiteralTree() {
-        return literalTree;
+    public HuffmanDecoder getLiteralDecoder() {
+        return literalDecoder;
     }
 
-    public Map<Long, Integer> getDistanceTree() {
-        return distanceTree;
+    public HuffmanDecoder getDistanceDecoder() {
+        return distanceDecoder;
     }
 }
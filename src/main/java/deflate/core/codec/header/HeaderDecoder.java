@@ -1,35 +1,41 @@
 package deflate.core.codec.header;
 
-import deflate.core.codec.huffman.HuffmanService;
+import deflate.core.codec.huffman.FixedHuffmanCodes;
+import deflate.core.codec.huffman.HuffmanDecoder;
 import deflate.core.codec.type.CompressType;
 import deflate.core.io.InputStream;
 import deflate.core.util.BitUtil;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.Arrays;
 
 public class HeaderDecoder {
+    // 1차 디코딩 테이블 인덱스 비트 수
+    private static final int LITERAL_TABLE_BITS = 9;
+    private static final int DISTANCE_TABLE_BITS = 6;
+    private static final int CODE_LENGTH_TABLE_BITS = 7;
+
     public Header decodeHeader(InputStream bitIn) throws IOException {
 
         // 1. 블록 헤더 읽기 (3비트)
         // BFINAL (1비트): 마지막 블록 여부
-        long bfinal = 0L;
-        bfinal = BitUtil.addBit(bfinal, bitIn.readBit());
+        long bfinal = BitUtil.init(bitIn.readBits(1), 1);
 
         // BTYPE (2비트): 압축 방식
-        long btype = 0L;
-        btype = BitUtil.addBit(btype, bitIn.readBit());
-        btype = BitUtil.addBit(btype, bitIn.readBit());
+        long btype = BitUtil.init(bitIn.readBits(2), 2);
 
         if (CompressType.NONE.value == btype) {
-            //비압축 블록 (BTYPE=00)
-            return Header.createDecodedHeaderNoneCompressed(bfinal, btype);
+            //비압축 블록 (BTYPE=00) - 바이트 경계 정렬 후 LEN, NLEN(1의 보수) 각 16비트
+            bitIn.alignToByte();
+            int len = bitIn.readBits(16);
+            int nlen = bitIn.readBits(16);
+            if ((len ^ 0xFFFF) != nlen) {
+                throw new IOException("저장 블록 길이 검증 실패");
+            }
+            return Header.createDecodedHeaderNoneCompressed(bfinal, btype, len);
         } else if (CompressType.FIX_HUFFMAN.value == btype) {
-            //고정 허프만 코딩 (BTYPE=01)
-
+            //고정 허프만 코딩 (BTYPE=01) - 헤더 없이 정적 디코딩 테이블 사용
+            return Header.createDecodedHeaderFixedCompressed(bfinal, btype, FixedHuffmanCodes.literalDecoder(bitIn.getBitOrder()), FixedHuffmanCodes.distanceDecoder(bitIn.getBitOrder()));
         } else if (CompressType.DYNAMIC_HUFFMAN.value == btype) {
             // 동적 허프만 코딩(BTYPE=10)인 경우 추가 헤더 필드 읽기
             // 2. HLIT, HDIST, HCLEN 읽기
@@ -43,99 +49,81 @@ public class HeaderDecoder {
             int hclen = bitIn.readBits(4);
 
             // 3. 코드 길이 알파벳 코드 길이 읽기 (각 3비트)
-            Map<Integer, Integer> codeLengthCodeLengths = new HashMap<>();
+            int[] codeLengthCodeLengths = new int[Header.CODE_LENGTH_CODE_ORDER.length];
             for (int i = 0; i < hclen + 4; i++) {
                 int symbol = Header.CODE_LENGTH_CODE_ORDER[i];
-                codeLengthCodeLengths.put(symbol, bitIn.readBits(3));
+                codeLengthCodeLengths[symbol] = bitIn.readBits(3);
             }
 
-            // 4. 코드 길이 알파벳 허프만 트리 재구성
-            Map<Long, Integer> codeLengthAlphabetTree = reconstructReverseHuffmanTree(codeLengthCodeLengths);
+            // 4. 코드 길이 알파벳 디코딩 테이블 구성
+            HuffmanDecoder codeLengthAlphabetDecoder = buildDecoder(codeLengthCodeLengths, CODE_LENGTH_TABLE_BITS, bitIn);
 
             // 5. RLE 압축 해제 및 코드 길이 배열 복원
-            List<Integer> decompressedCodeLengths = decompressRLE(
-                    bitIn, codeLengthAlphabetTree, (hlit + 257) + (hdist + 1));
-
-            // 리터럴/길이 코드 길이 복사
-            Map<Integer, Integer> literalCodeLengths = new HashMap<>();
-            for (int i = 0; i < hlit + 257; i++) {
-                int add = 0;
-                if (i <= 255) {
-                    add = -128;
-                }
-                literalCodeLengths.put(i + add, decompressedCodeLengths.get(i));
-            }
+            int[] decompressedCodeLengths = decompressRLE(
+                    bitIn, codeLengthAlphabetDecoder, (hlit + 257) + (hdist + 1));
+
+            // 리터럴/길이 코드 길이 복사 (심볼 인덱스 기준)
+            int[] literalCodeLengths = Arrays.copyOfRange(decompressedCodeLengths, 0, hlit + 257);
 
             // 거리 코드 길이 복사
-            Map<Integer, Integer> distanceCodeLengths = new HashMap<>();
-            for (int i = hlit + 257; i < hlit + 257 + hdist + 1; i++) {
-                distanceCodeLengths.put(i - (hlit + 257), decompressedCodeLengths.get(i));
-            }
+            int[] distanceCodeLengths = Arrays.copyOfRange(decompressedCodeLengths, hlit + 257, hlit + 257 + hdist + 1);
 
-            // 7. 리터럴/길이 및 거리 허프만 트리 재구성
-            Map<Long, Integer> literalTree = reconstructReverseHuffmanTree(literalCodeLengths);
-            Map<Long, Integer> distanceTree = reconstructReverseHuffmanTree(distanceCodeLengths);
+            // 7. 리터럴/길이 및 거리 디코딩 테이블 구성
+            HuffmanDecoder literalDecoder = buildDecoder(literalCodeLengths, LITERAL_TABLE_BITS, bitIn);
+            HuffmanDecoder distanceDecoder = buildDecoder(distanceCodeLengths, DISTANCE_TABLE_BITS, bitIn);
 
-            return Header.createDecodedHeaderDynamicCompressed(bfinal, btype, hlit, hdist, hclen, codeLengthCodeLengths, codeLengthAlphabetTree, decompressedCodeLengths, literalCodeLengths, distanceCodeLengths, literalTree, distanceTree);
+            return Header.createDecodedHeaderDynamicCompressed(bfinal, btype, hlit, hdist, hclen, codeLengthCodeLengths, codeLengthAlphabetDecoder, decompressedCodeLengths, literalCodeLengths, distanceCodeLengths, literalDecoder, distanceDecoder);
         }
 
         throw new RuntimeException("Unrecognized compress type.");
     }
 
-    private Map<Long, Integer> reconstructReverseHuffmanTree(Map<Integer, Integer> codeLengths) {
-        Map<Long, Integer> huffmanTree = new HashMap<>();
-        HuffmanService huffmanService = new HuffmanService();
-        Map<Integer, Long> codes = huffmanService.generateCanonicalCodes(codeLengths);
-        for (Map.Entry<Integer, Long> entry : codes.entrySet()) {
-            huffmanTree.put(entry.getValue(), entry.getKey());
+    private HuffmanDecoder buildDecoder(int[] codeLengths, int tableBits, InputStream bitIn) throws IOException {
+        try {
+            return new HuffmanDecoder(codeLengths, tableBits, bitIn.getBitOrder());
+        } catch (IllegalArgumentException e) {
+            throw new IOException("유효하지 않은 코드 길이", e);
         }
-
-        return huffmanTree;
     }
 
-    private List<Integer> decompressRLE(InputStream reader,
-                                        Map<Long, Integer> huffmanTree,
-                                        int totalCodeLengths) throws IOException {
-        List<Integer> codeLengths = new ArrayList<>();
-        long currentCode;
-
-        while (codeLengths.size() < totalCodeLengths) {
-            currentCode = 0L;
+    private int[] decompressRLE(InputStream reader,
+                                HuffmanDecoder decoder,
+                                int totalCodeLengths) throws IOException {
+        int[] codeLengths = new int[totalCodeLengths];
+        int count = 0;
 
+        while (count < totalCodeLengths) {
             // 허프만 코드 읽기
-            while (true) {
-                currentCode = BitUtil.addBit(currentCode, reader.readBit());
-                if (huffmanTree.containsKey(currentCode)) {
-                    break;
-                }
-            }
-
-            int symbol = huffmanTree.get(currentCode);
+            int symbol = decoder.decode(reader);
 
+            int value;
+            int repeat;
             if (symbol <= 15) {
                 // 직접 코드 길이 (0-15)
-                codeLengths.add(symbol);
+                codeLengths[count++] = symbol;
+                continue;
             } else if (symbol == 16) {
                 // 이전 길이 반복 (3-6회)
-                int repeat = reader.readBits(2) + 3;
-
-                int prevLength = codeLengths.get(codeLengths.size() - 1);
-                for (int i = 0; i < repeat; i++) {
-                    codeLengths.add(prevLength);
+                if (count == 0) {
+                    throw new IOException("반복할 이전 코드 길이가 없음");
                 }
+                value = codeLengths[count - 1];
+                repeat = reader.readBits(2) + 3;
             } else if (symbol == 17) {
                 // 0 반복 (3-10회)
-                int repeat = reader.readBits(3) + 3;
-                for (int i = 0; i < repeat; i++) {
-                    codeLengths.add(0);
-                }
-            } else if (symbol == 18) {
+                value = 0;
+                repeat = reader.readBits(3) + 3;
+            } else {
                 // 0 반복 (11-138회)
-                int repeat = reader.readBits(7) + 11;
-                for (int i = 0; i < repeat; i++) {
-                    codeLengths.add(0);
-                }
+                value = 0;
+                repeat = reader.readBits(7) + 11;
+            }
+
+            if (count + repeat > totalCodeLengths) {
+                throw new IOException("코드 길이 반복 범위 초과");
             }
+            Arrays.fill(codeLengths, count, count + repeat, value);
+            count += repeat;
         }
         return codeLengths;
     }
@@ -0,0 +1,66 @@
+package deflate.core.codec.huffman;
+
+import deflate.core.io.BitOrder;
+
+import java.util.Arrays;
+
+// 고정 허프만 블록(BTYPE=01)의 정적 코드 - 헤더 없이 인코더/디코더가 같은 표를 사용
+public final class FixedHuffmanCodes {
+    private static final int LITERAL_TABLE_BITS = 9;
+    private static final int DISTANCE_TABLE_BITS = 5;
+
+    // 리터럴/길이 심볼 0~143: 8비트, 144~255: 9비트, 256~279: 7비트, 280~287: 8비트
+    public static final byte[] LITERAL_LENGTHS = new byte[288];
+    // 거리 심볼 0~31: 5비트 (30, 31 은 쓰이지 않음)
+    public static final byte[] DISTANCE_LENGTHS = new byte[32];
+
+    // 비트 순서별 코드와 디코딩 테이블, BitOrder.ordinal() 로 인덱싱
+    private static final int[][] LITERAL_CODES = new int[2][];
+    private static final int[][] DISTANCE_CODES = new int[2][];
+    private static final HuffmanDecoder[] LITERAL_DECODERS = new HuffmanDecoder[2];
+    private static final HuffmanDecoder[] DISTANCE_DECODERS = new HuffmanDecoder[2];
+
+    static {
+        Arrays.fill(LITERAL_LENGTHS, 0, 144, (byte) 8);
+        Arrays.fill(LITERAL_LENGTHS, 144, 256, (byte) 9);
+        Arrays.fill(LITERAL_LENGTHS, 256, 280, (byte) 7);
+        Arrays.fill(LITERAL_LENGTHS, 280, 288, (byte) 8);
+        Arrays.fill(DISTANCE_LENGTHS, (byte) 5);
+
+        HuffmanService huffmanService = new HuffmanService();
+        for (BitOrder bitOrder : BitOrder.values()) {
+            int i = bitOrder.ordinal();
+            LITERAL_CODES[i] = huffmanService.generateCanonicalCodes(LITERAL_LENGTHS, bitOrder);
+            DISTANCE_CODES[i] = huffmanService.generateCanonicalCodes(DISTANCE_LENGTHS, bitOrder);
+            LITERAL_DECODERS[i] = new HuffmanDecoder(toIntArray(LITERAL_LENGTHS), LITERAL_TABLE_BITS, bitOrder);
+            DISTANCE_DECODERS[i] = new HuffmanDecoder(toIntArray(DISTANCE_LENGTHS), DISTANCE_TABLE_BITS, bitOrder);
+        }
+    }
+
+    private FixedHuffmanCodes() {
+    }
+
+    public static int[] literalCodes(BitOrder bitOrder) {
+        return LITERAL_CODES[bitOrder.ordinal()];
+    }
+
+    public static int[] distanceCodes(BitOrder bitOrder) {
+        return DISTANCE_CODES[bitOrder.ordinal()];
+    }
+
+    public static HuffmanDecoder literalDecoder(BitOrder bitOrder) {
+        return LITERAL_DECODERS[bitOrder.ordinal()];
+    }
+
+    public static HuffmanDecoder distanceDecoder(BitOrder bitOrder) {
+        return DISTANCE_DECODERS[bitOrder.ordinal()];
+    }
+
+    private static int[] toIntArray(byte[] lengths) {
+        int[] result = new int[lengths.length];
+        for (int i = 0; i < lengths.length; i++) {
+            result[i] = lengths[i];
+        }
+        return result;
+    }
+}
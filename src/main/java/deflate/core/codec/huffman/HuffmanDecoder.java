@@ -0,0 +1,141 @@
+package deflate.core.codec.huffman;
+
+import deflate.core.io.BitOrder;
+import deflate.core.io.InputStream;
+
+import java.io.IOException;
+
+public final class HuffmanDecoder {
+    private static final int MAX_BITS = 15;
+
+    // 테이블 항목: (값 << 5) | (서브 테이블 여부 << 4) | 비트 수
+    // 직접 항목이면 값=심볼, 비트 수=코드 길이
+    // 서브 테이블 링크면 값=서브 테이블 시작 위치, 비트 수=서브 테이블 인덱스 비트 수
+    private static final int LINK_FLAG = 1 << 4;
+    private static final int BITS_MASK = 0xF;
+
+    private final int primaryBits;
+    private final int[] table;
+    // LSB 우선 스트림이면 peek 한 값의 비트 0 이 코드의 첫 비트이므로 테이블 인덱스를 뒤집어 구성
+    private final boolean lsbFirst;
+
+    public HuffmanDecoder(int[] codeLengths, int primaryBits) {
+        this(codeLengths, primaryBits, BitOrder.MSB_FIRST);
+    }
+
+    public HuffmanDecoder(int[] codeLengths, int primaryBits, BitOrder bitOrder) {
+        this.lsbFirst = bitOrder == BitOrder.LSB_FIRST;
+        // 1. 길이별 코드 개수
+        int[] lengthCount = new int[MAX_BITS + 1];
+        int maxLength = 0;
+        for (int length : codeLengths) {
+            if (length < 0 || length > MAX_BITS) {
+                throw new IllegalArgumentException("Invalid code length: " + length);
+            }
+            lengthCount[length]++;
+            maxLength = Math.max(maxLength, length);
+        }
+        lengthCount[0] = 0;
+
+        // 2. 길이별 첫 캐노니컬 코드
+        int[] nextCode = new int[MAX_BITS + 2];
+        int code = 0;
+        for (int len = 1; len <= MAX_BITS; len++) {
+            code = (code + lengthCount[len - 1]) << 1;
+            nextCode[len] = code;
+        }
+
+        this.primaryBits = Math.max(1, Math.min(primaryBits, Math.max(maxLength, 1)));
+        int primarySize = 1 << this.primaryBits;
+
+        // 3. 1차 테이블 인덱스(코드 앞 primaryBits 비트)별 서브 테이블에 필요한 최대 길이
+        int[] codes = new int[codeLengths.length];
+        int[] subMaxLength = new int[primarySize];
+        for (int symbol = 0; symbol < codeLengths.length; symbol++) {
+            int len = codeLengths[symbol];
+            if (len == 0) {
+                continue;
+            }
+            codes[symbol] = nextCode[len]++;
+            if (codes[symbol] >= (1 << len)) {
+                throw new IllegalArgumentException("Over-subscribed code lengths");
+            }
+            if (len > this.primaryBits) {
+                int prefix = index(codes[symbol] >>> (len - this.primaryBits), this.primaryBits);
+                subMaxLength[prefix] = Math.max(subMaxLength[prefix], len);
+            }
+        }
+
+        // 4. 서브 테이블 위치 할당
+        int[] subOffset = new int[primarySize];
+        int tableSize = primarySize;
+        for (int prefix = 0; prefix < primarySize; prefix++) {
+            if (subMaxLength[prefix] > 0) {
+                subOffset[prefix] = tableSize;
+                tableSize += 1 << (subMaxLength[prefix] - this.primaryBits);
+            }
+        }
+        table = new int[tableSize];
+        for (int prefix = 0; prefix < primarySize; prefix++) {
+            if (subMaxLength[prefix] > 0) {
+                table[prefix] = (subOffset[prefix] << 5) | LINK_FLAG | (subMaxLength[prefix] - this.primaryBits);
+            }
+        }
+
+        // 5. 심볼 채우기 - 짧은 코드는 남는 하위 비트의 모든 조합에 복제
+        for (int symbol = 0; symbol < codeLengths.length; symbol++) {
+            int len = codeLengths[symbol];
+            if (len == 0) {
+                continue;
+            }
+            int entry = (symbol << 5) | len;
+            if (len <= this.primaryBits) {
+                fill(0, codes[symbol], len, this.primaryBits, entry);
+            } else {
+                int prefix = index(codes[symbol] >>> (len - this.primaryBits), this.primaryBits);
+                int subBits = subMaxLength[prefix] - this.primaryBits;
+                int low = codes[symbol] & ((1 << (len - this.primaryBits)) - 1);
+                fill(subOffset[prefix], low, len - this.primaryBits, subBits, entry);
+            }
+        }
+    }
+
+    // bits 비트 코드의 테이블 인덱스 - LSB 우선이면 비트 순서를 뒤집음
+    private int index(int code, int bits) {
+        return lsbFirst ? Integer.reverse(code) >>> (32 - bits) : code;
+    }
+
+    // tableBits 비트 인덱스 테이블에서 앞 bits 비트가 code 인 모든 칸을 entry 로 채움
+    private void fill(int offset, int code, int bits, int tableBits, int entry) {
+        int free = tableBits - bits;
+        if (lsbFirst) {
+            // 뒤에 오는 비트가 인덱스의 상위 비트
+            int start = index(code, bits);
+            for (int i = 0; i < (1 << free); i++) {
+                table[offset + start + (i << bits)] = entry;
+            }
+        } else {
+            int start = code << free;
+            for (int i = 0; i < (1 << free); i++) {
+                table[offset + start + i] = entry;
+            }
+        }
+    }
+
+    public int decode(InputStream in) throws IOException {
+        int entry = table[in.peekBits(primaryBits)];
+        if ((entry & LINK_FLAG) != 0) {
+            int subBits = entry & BITS_MASK;
+            int peeked = in.peekBits(primaryBits + subBits);
+            int index = lsbFirst ? peeked >>> primaryBits : peeked & ((1 << subBits) - 1);
+            entry = table[(entry >>> 5) + index];
+        }
+
+        int length = entry & BITS_MASK;
+        if (length == 0) {
+            throw new IOException("유효하지 않은 허프만 코드");
+        }
+        in.consume(length);
+        return entry >>> 5;
+    }
+}
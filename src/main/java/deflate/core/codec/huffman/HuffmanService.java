@@ -1,247 +1,222 @@
 package deflate.core.codec.huffman;
 
-import deflate.core.util.BitUtil;
+import deflate.core.io.BitOrder;
 
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.PriorityQueue;
+import java.util.Arrays;
 
 public class HuffmanService {
-    class HuffmanNode implements Comparable<HuffmanNode> {
-        int symbol;
-        long frequency;
-        HuffmanNode left;
-        HuffmanNode right;
-        int depth;
-
-        public HuffmanNode(int symbol, long frequency) {
-            this.symbol = symbol;
-            this.frequency = frequency;
-            this.left = null;
-            this.right = null;
-            this.depth = 0;
-        }
-
-        public HuffmanNode(HuffmanNode left, HuffmanNode right) {
-            this.symbol = -1;
-            this.frequency = left.frequency + right.frequency;
-            this.left = left;
-            this.right = right;
-            this.depth = 0;
-        }
-
-        @Override
-        public int compareTo(HuffmanNode other) {
-            int freqCompare = Long.compare(this.frequency, other.frequency);
-            if (freqCompare != 0) {
-                return freqCompare;
-            }
-            return Long.compare(this.symbol, other.symbol);
-        }
-    }
-
-    public Map<Integer, Integer> buildTreeLengthWithLimit(Map<Integer, Long> frequencies, int limit) {
-        Map<Integer, Integer> codeLengths = new HashMap<>();
-        List<HuffmanNode> nodes = calculateInitialCodeLengths(frequencies, codeLengths);
-        codeLengths = limitCodeLengths(nodes, limit);
+    private static final int MAX_CODE_LENGTH = 15;
+
+    // 재사용 작업 배열 - (빈도 << 16 | 심볼) 정렬 키, 정렬 순서의 빈도/길이
+    private long[] sortKeys = new long[0];
+    private int[] weights = new int[0];
+    // package-merge 각 단계의 병합 목록에서 i 번째 항목이 패키지인지 여부
+    private boolean[][] packaged = new boolean[0][];
+    private long[] mergeWeights = new long[0];
+    private long[] nextWeights = new long[0];
+    // 정규 코드 배정용 길이별 심볼 수, 길이별 다음 코드
+    private final int[] lengthCount = new int[MAX_CODE_LENGTH + 1];
+    private final int[] nextCode = new int[MAX_CODE_LENGTH + 1];
+
+    // 심볼 인덱스별 빈도 -> 심볼 인덱스별 코드 길이 (빈도 0 인 심볼은 길이 0)
+    public byte[] buildCodeLengths(int[] frequencies, int limit) {
+        byte[] codeLengths = new byte[frequencies.length];
+        buildCodeLengths(frequencies, limit, codeLengths);
         return codeLengths;
     }
 
-    private List<HuffmanNode> calculateInitialCodeLengths(Map<Integer, Long> frequencyTable,
-                                                          Map<Integer, Integer> codeLengths) {
-        PriorityQueue<HuffmanNode> pq = new PriorityQueue<>();
-        for (Map.Entry<Integer, Long> entry : frequencyTable.entrySet()) {
-            pq.add(new HuffmanNode(entry.getKey(), entry.getValue()));
-        }
-
-        if (pq.size() == 1) {
-            HuffmanNode node = pq.poll();
-            codeLengths.put(node.symbol, 1);
-            return List.of(node);
-        }
+    // 결과를 codeLengths[0..frequencies.length) 에 기록 - 호출자가 결과 배열도 재사용할 수 있음
+    public void buildCodeLengths(int[] frequencies, int limit, byte[] codeLengths) {
+        Arrays.fill(codeLengths, 0, frequencies.length, (byte) 0);
+        ensureCapacity(frequencies.length, limit);
 
-        while (pq.size() > 1) {
-            HuffmanNode left = pq.poll();
-            HuffmanNode right = pq.poll();
-            HuffmanNode parent = new HuffmanNode(left, right);
-
-            if (left.left != null || left.right != null) {
-                left.depth++;
-            }
-            if (right.left != null || right.right != null) {
-                right.depth++;
+        // 1. 사용된 심볼을 (빈도, 심볼) 오름차순으로 정렬
+        int n = 0;
+        for (int symbol = 0; symbol < frequencies.length; symbol++) {
+            if (frequencies[symbol] > 0) {
+                sortKeys[n++] = ((long) frequencies[symbol] << 16) | symbol;
             }
-
-            pq.add(parent);
         }
-
-        HuffmanNode root = pq.poll();
-        List<HuffmanNode> nodes = new ArrayList<>();
-        calculateNodeDepths(root, 0, codeLengths, nodes);
-        return nodes;
-    }
-
-    private void calculateNodeDepths(HuffmanNode node, int depth, Map<Integer, Integer> codeLengths, List<HuffmanNode> nodes) {
-        if (node == null) return;
-
-        if (node.left == null && node.right == null) {
-            codeLengths.put(node.symbol, depth);
-            node.depth = depth;
-            nodes.add(node);
+        if (n == 0) {
             return;
         }
+        if (n == 1) {
+            // 심볼이 하나뿐이어도 1비트 코드를 부여
+            codeLengths[(int) (sortKeys[0] & 0xFFFF)] = 1;
+            return;
+        }
+        if (n > (1 << limit)) {
+            throw new IllegalArgumentException("Too many symbols for code length limit " + limit + ": " + n);
+        }
+        Arrays.sort(sortKeys, 0, n);
 
-        calculateNodeDepths(node.left, depth + 1, codeLengths, nodes);
-        calculateNodeDepths(node.right, depth + 1, codeLengths, nodes);
-    }
-
-    private Map<Integer, Integer> limitCodeLengths(List<HuffmanNode> nodes, int maxLength) {
-        boolean needsAdjustment = false;
-        int oldMaxLength = 0;
-        for (HuffmanNode huffmanNode : nodes) {
-            oldMaxLength = Math.max(oldMaxLength, huffmanNode.depth);
-            if (huffmanNode.depth > maxLength) {
-                needsAdjustment = true;
+        // 2. 정렬된 빈도 배열 위에서 제자리 허프만 길이 계산, 제한을 넘으면 package-merge 로 다시 계산
+        for (int i = 0; i < n; i++) {
+            weights[i] = (int) (sortKeys[i] >>> 16);
+        }
+        minimumRedundancyInPlace(weights, n);
+        if (weights[0] > limit) {
+            for (int i = 0; i < n; i++) {
+                weights[i] = (int) (sortKeys[i] >>> 16);
             }
+            packageMerge(weights, n, limit);
         }
 
-        Map<Integer, Integer> codeLengths = new HashMap<>();
-        if (!needsAdjustment) {
-            for (HuffmanNode huffmanNode : nodes) {
-                codeLengths.put(huffmanNode.symbol, huffmanNode.depth);
-            }
-            return codeLengths;
+        for (int i = 0; i < n; i++) {
+            codeLengths[(int) (sortKeys[i] & 0xFFFF)] = (byte) weights[i];
         }
+    }
 
-        int n = nodes.size();
+    private void ensureCapacity(int symbols, int limit) {
+        if (sortKeys.length < symbols) {
+            sortKeys = new long[symbols];
+            weights = new int[symbols];
+            mergeWeights = new long[2 * symbols];
+            nextWeights = new long[2 * symbols];
+            packaged = new boolean[0][];
+        }
+        if (packaged.length < limit) {
+            packaged = new boolean[limit][2 * sortKeys.length];
+        }
+    }
 
-        // 1. 히스토그램 생성 (인덱스 1부터 사용)
-        int[] histNumBits = new int[oldMaxLength + 1];
-        for (HuffmanNode huffmanNode : nodes) {
-            if (huffmanNode.depth > 0) {
-                histNumBits[huffmanNode.depth]++;
+    // Moffat-Katajainen: 오름차순 빈도 a[0..n) 를 같은 자리의 코드 길이로 바꿈 (a[0] 이 가장 긴 코드)
+    private void minimumRedundancyInPlace(int[] a, int n) {
+        // 1. 내부 노드 빈도를 만들며 부모 인덱스를 기록
+        a[0] += a[1];
+        int root = 0;
+        int leaf = 2;
+        for (int next = 1; next < n - 1; next++) {
+            if (leaf >= n || a[root] < a[leaf]) {
+                a[next] = a[root];
+                a[root++] = next;
+            } else {
+                a[next] = a[leaf++];
+            }
+            if (leaf >= n || (root < next && a[root] < a[leaf])) {
+                a[next] += a[root];
+                a[root++] = next;
+            } else {
+                a[next] += a[leaf++];
             }
         }
 
-        // 2. 히스토그램 조정
-        int finalMax = limitedMinizInPlace(maxLength, oldMaxLength, histNumBits);
-
-        // 3. 조정된 히스토그램을 바탕으로 심볼에 새 길이 할당
-        // 원래 코드 길이 기준으로 심볼 인덱스를 오름차순 정렬(길이가 짧은 심볼부터 할당)
-        Integer[] indices = new Integer[n];
-        for (int i = 0; i < n; i++) {
-            indices[i] = i;
+        // 2. 부모 인덱스 -> 내부 노드 깊이
+        a[n - 2] = 0;
+        for (int next = n - 3; next >= 0; next--) {
+            a[next] = a[a[next]] + 1;
         }
-        nodes.sort(Comparator.comparingInt(a -> a.depth));
 
-        int index = 0;
-        for (int len = 1; len <= finalMax; len++) {
-            int count = histNumBits[len];
-            for (int i = 0; i < count && index < nodes.size(); i++) {
-                codeLengths.put(nodes.get(index).symbol, len);
-                index++;
+        // 3. 내부 노드 깊이 -> 리프 깊이
+        int available = 1;
+        int used = 0;
+        int depth = 0;
+        root = n - 2;
+        int next = n - 1;
+        while (available > 0) {
+            while (root >= 0 && a[root] == depth) {
+                used++;
+                root--;
             }
+            while (available > used) {
+                a[next--] = depth;
+                available--;
+            }
+            available = 2 * used;
+            depth++;
+            used = 0;
         }
-        while (index < nodes.size()) {
-            codeLengths.put(nodes.get(index).symbol, 0);
-            index++;
-        }
-
-        return codeLengths;
     }
 
-    private int limitedMinizInPlace(int newMaxLength, int oldMaxLength, int[] histNumBits) {
-        if (newMaxLength <= 1)
-            return 0;
-        if (newMaxLength > oldMaxLength)
-            return 0;
-        if (newMaxLength == oldMaxLength)
-            return newMaxLength;
-        // newMaxLength보다 긴 모든 코드를 newMaxLength 길이로 이동
-        for (int i = newMaxLength + 1; i <= oldMaxLength; i++) {
-            histNumBits[newMaxLength] += histNumBits[i];
-            histNumBits[i] = 0;
-        }
-        // Kraft 합 계산 (모든 항을 2^newMaxLength 배)
-        long total = 0;
-        for (int i = newMaxLength; i > 0; i--) {
-            total += ((long) histNumBits[i]) << (newMaxLength - i);
-        }
-        long one = 1L << newMaxLength;
-        // Kraft 합이 1 이하가 될 때까지 코드 길이를 조정
-        while (total > one) {
-            histNumBits[newMaxLength]--;
-            for (int i = newMaxLength - 1; i > 0; i--) {
-                if (histNumBits[i] > 0) {
-                    histNumBits[i]--;
-                    histNumBits[i + 1] += 2;
-                    break;
+    // 길이 제한 최적 코드: 오름차순 빈도 w[0..n) 를 같은 자리의 코드 길이(limit 이하)로 바꿈
+    private void packageMerge(int[] w, int n, int limit) {
+        // 가장 깊은 단계는 리프만, 위 단계로 갈수록 (아래 단계 두 항목을 묶은 패키지 + 리프) 병합
+        int size = n;
+        for (int i = 0; i < n; i++) {
+            mergeWeights[i] = w[i];
+            packaged[limit - 1][i] = false;
+        }
+        for (int level = limit - 2; level >= 0; level--) {
+            int packages = size / 2;
+            int leaf = 0;
+            int pack = 0;
+            int merged = 0;
+            boolean[] flags = packaged[level];
+            // 같은 무게면 리프 우선
+            while (leaf < n || pack < packages) {
+                long packageWeight = pack < packages ? mergeWeights[2 * pack] + mergeWeights[2 * pack + 1] : Long.MAX_VALUE;
+                if (leaf < n && w[leaf] <= packageWeight) {
+                    nextWeights[merged] = w[leaf++];
+                    flags[merged++] = false;
+                } else {
+                    nextWeights[merged] = packageWeight;
+                    flags[merged++] = true;
+                    pack++;
+                }
+            }
+            long[] swap = mergeWeights;
+            mergeWeights = nextWeights;
+            nextWeights = swap;
+            size = merged;
+        }
+
+        // 최상위 단계에서 앞의 2n-2 항목을 고르고, 고른 패키지 수만큼 아래 단계로 내려가며 리프 길이를 셈
+        Arrays.fill(w, 0, n, 0);
+        int take = 2 * n - 2;
+        for (int level = 0; level < limit && take > 0; level++) {
+            boolean[] flags = packaged[level];
+            int leaves = 0;
+            int packages = 0;
+            for (int i = 0; i < take; i++) {
+                if (flags[i]) {
+                    packages++;
+                } else {
+                    leaves++;
                 }
             }
-            total--;
+            // 고른 리프는 항상 빈도가 작은 쪽부터 연속
+            for (int i = 0; i < leaves; i++) {
+                w[i]++;
+            }
+            take = 2 * packages;
         }
-        return newMaxLength;
     }
 
-    public Map<Integer, Long> generateCanonicalCodes(Map<Integer, Integer> codeLengths) {
-        Map<Integer, Long> codeMap = new HashMap<>();
-        List<Map.Entry<Integer, Integer>> entries = new ArrayList<>(codeLengths.entrySet());
-        entries.removeIf(entry -> entry.getValue() <= 0);
-        entries.sort(Comparator.comparingInt((Map.Entry<Integer, Integer> a) -> a.getValue()).thenComparingInt(Map.Entry::getKey));
-
-        long code = 0;
-        int prevLen = 0;
-
-        Map<Long, Integer> prefix = new HashMap<>();
-
-        for (Map.Entry<Integer, Integer> entry : entries) {
-            int symbol = entry.getKey();
-            int len = entry.getValue();
-
-            code <<= (len - prevLen);
-
-            code = checkPrefixAndProcessOverflow(prefix, code, len);
-
-            codeMap.put(symbol, BitUtil.init(code, len));
-            prefix.put(code, len);
-            if (code == ((1L << (len)) - 1)) {
-                code = (1L << (len - 1));
-            }
-            code++;
-            prevLen = len;
-        }
+    // LSB 우선 스트림은 코드를 첫 비트가 최하위 비트가 되도록 뒤집어 두면 그대로 기록 가능
+    public int[] generateCanonicalCodes(byte[] codeLengths, BitOrder bitOrder) {
+        int[] codes = new int[codeLengths.length];
+        generateCanonicalCodes(codeLengths, bitOrder, codes);
+        return codes;
+    }
 
-        return codeMap;
+    public int[] generateCanonicalCodes(byte[] codeLengths) {
+        return generateCanonicalCodes(codeLengths, BitOrder.MSB_FIRST);
     }
 
-    private long checkPrefixAndProcessOverflow(Map<Long, Integer> prefix, long code, int len) {
-        while (checkPrefix(prefix, code, len)) {
-            if (code == ((1L << (len)) - 1)) {
-                code = (1L << (len - 1));
-            }
-            code++;
+    // 길이별 심볼 수로 각 길이의 첫 코드를 구하고 심볼 순서대로 배정, 결과는 codes[0..codeLengths.length) 에 기록
+    public void generateCanonicalCodes(byte[] codeLengths, BitOrder bitOrder, int[] codes) {
+        Arrays.fill(lengthCount, 0);
+        for (byte length : codeLengths) {
+            lengthCount[length]++;
         }
-        return code;
-    }
+        lengthCount[0] = 0;
 
-    private boolean checkPrefix(Map<Long, Integer> prefixMap, long code, int currentLen) {
-        for (Map.Entry<Long, Integer> entry : prefixMap.entrySet()) {
-            long prefixCode = entry.getKey();
-            int prefixLen = entry.getValue();
+        int code = 0;
+        for (int bits = 1; bits <= MAX_CODE_LENGTH; bits++) {
+            code = (code + lengthCount[bits - 1]) << 1;
+            nextCode[bits] = code;
+        }
 
-            if (prefixLen <= currentLen) {
-                int shift = currentLen - prefixLen;
-                long extracted = (code >>> shift);
-                if (extracted == prefixCode) return true;
+        boolean reverse = bitOrder == BitOrder.LSB_FIRST;
+        for (int symbol = 0; symbol < codeLengths.length; symbol++) {
+            int length = codeLengths[symbol];
+            if (length == 0) {
+                codes[symbol] = 0;
+            } else if (reverse) {
+                codes[symbol] = Integer.reverse(nextCode[length]++) >>> (32 - length);
             } else {
-                int shift = prefixLen - currentLen;
-                long extracted = (prefixCode >>> shift);
-                if (extracted == code) return true;
+                codes[symbol] = nextCode[length]++;
             }
         }
-        return false;
     }
 }
@@ -0,0 +1,117 @@
+package deflate.core.codec.lz77;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+// 해시 테이블 기반 탐색기의 공통 부분 - 세대 값으로 초기화, 윈도우 이동, 곱셈 해시
+// 테이블 값은 (위치 + generationBase), generationBase 보다 작으면 이전 세대의 항목이므로 빈 칸
+abstract class AbstractMatchFinder implements MatchFinder {
+    static final int WINDOW_SIZE = 32768;
+    static final int WINDOW_MASK = WINDOW_SIZE - 1;
+    static final int MAX_MATCH = 258;
+    static final int MIN_MATCH = 3;
+    static final int HASH_BITS = 16;
+    static final int HASH_SIZE = 1 << HASH_BITS;
+    // 세대 기준값이 이보다 커지면 실제로 비우고 0 부터 다시 시작
+    private static final int MAX_GENERATION_BASE = 1 << 30;
+    // 황금비 기반 곱셈 상수 - 모든 입력 비트가 상위 비트에 섞임
+    private static final int HASH_MULTIPLIER = 0x9E3779B1;
+    // 4바이트를 한 번에 읽음 - 바이트 순서는 hash3 과 같은 리틀 엔디언
+    private static final VarHandle INTS = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+    final CompressionLevel level;
+    private int generationBase;
+    // 현재 세대에서 쓴 가장 큰 값 + 1, 다음 세대의 기준값 계산에 사용
+    private int generationEnd;
+    // 다음에 추가할 수 있는 가장 작은 위치 - 이보다 앞은 이미 추가됨
+    int frontier;
+    long chainSteps;
+
+    AbstractMatchFinder(CompressionLevel level) {
+        this.level = level;
+    }
+
+    // 세대 값을 쓰는 모든 테이블 (빈 칸은 -1)
+    abstract int[][] tables();
+
+    // 위치마다 entriesPerPosition 칸씩 (위치 & WINDOW_MASK) 로 인덱싱되는 테이블
+    abstract int[][] ringTables();
+
+    abstract int entriesPerPosition();
+
+    @Override
+    public void reset() {
+        if (generationEnd >= MAX_GENERATION_BASE) {
+            for (int[] table : tables()) {
+                Arrays.fill(table, -1);
+            }
+            generationBase = 0;
+        } else {
+            generationBase = generationEnd;
+        }
+        generationEnd = generationBase;
+        frontier = 0;
+    }
+
+    @Override
+    public void slide(int delta) {
+        if (delta == 0) {
+            return;
+        }
+        int limit = generationBase + delta;
+        int entries = entriesPerPosition();
+        for (int[] ring : ringTables()) {
+            // 링 테이블은 위치로 인덱싱되므로 delta 만큼 회전
+            int shift = (delta & WINDOW_MASK) * entries;
+            if (shift != 0) {
+                int[] head = Arrays.copyOf(ring, shift);
+                System.arraycopy(ring, shift, ring, 0, ring.length - shift);
+                System.arraycopy(head, 0, ring, ring.length - shift, shift);
+            }
+        }
+        for (int[] table : tables()) {
+            for (int i = 0; i < table.length; i++) {
+                table[i] = table[i] >= limit ? table[i] - delta : -1;
+            }
+        }
+        generationEnd = Math.max(generationBase, generationEnd - delta);
+        frontier = Math.max(0, frontier - delta);
+    }
+
+    @Override
+    public long getChainSteps() {
+        return chainSteps;
+    }
+
+    // 위치 -> 테이블 값
+    final int stamp(int pos) {
+        int stored = pos + generationBase;
+        if (stored >= generationEnd) {
+            generationEnd = stored + 1;
+        }
+        return stored;
+    }
+
+    // 테이블 값 -> 위치, 빈 칸이면 -1
+    final int position(int stored) {
+        return stored >= generationBase ? stored - generationBase : -1;
+    }
+
+    static int hash3(byte[] data, int pos) {
+        int value = (data[pos] & 0xFF) | (data[pos + 1] & 0xFF) << 8 | (data[pos + 2] & 0xFF) << 16;
+        return (value * HASH_MULTIPLIER) >>> (32 - HASH_BITS);
+    }
+
+    static int hash4(byte[] data, int pos) {
+        int value = (int) INTS.get(data, pos);
+        return (value * HASH_MULTIPLIER) >>> (32 - HASH_BITS);
+    }
+
+    static int[] emptyTable(int size) {
+        int[] table = new int[size];
+        Arrays.fill(table, -1);
+        return table;
+    }
+}
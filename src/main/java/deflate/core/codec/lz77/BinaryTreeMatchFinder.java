@@ -0,0 +1,186 @@
+package deflate.core.codec.lz77;
+
+// 4 바이트 해시마다 최근 위치를 뿌리로 하는 이진 탐색 트리 (BT4) - 위치를 추가할 때마다 뿌리로 올리며 트리를 다시 나눔
+// 노드마다 (작은 쪽, 큰 쪽) 자식 두 칸, 비교는 접두사 사전순이므로 따라가는 노드마다 공통 접두사가 길어짐
+// 길이 3 매치는 체인 없는 3 바이트 해시의 최근 위치 하나로만 확인
+// 트리는 niceLength 바이트 접두사 기준으로만 정렬되므로, 뒤에 그만큼 데이터가 없는 블록 끝 위치는 찾기만 하고
+// 넣지 않음 (frontier 를 올리지 않아 다음 블록이 뒤 데이터를 붙인 뒤 LZ77Service 가 다시 넣음)
+final class BinaryTreeMatchFinder extends AbstractMatchFinder {
+    // 먼 거리의 길이 3 매치는 리터럴 3 개보다 비싸므로 버림
+    private static final int MAX_SHORT_DISTANCE = 4096;
+
+    private final int[] head3 = emptyTable(HASH_SIZE);
+    private final int[] head4 = emptyTable(HASH_SIZE);
+    // (위치 & WINDOW_MASK) * 2 = 작은 쪽 자식, + 1 = 큰 쪽 자식
+    private final int[] son = emptyTable(WINDOW_SIZE * 2);
+    // findLongestMatch 의 결과 한 칸
+    private final int[] longestLength = new int[1];
+    private final int[] longestDistance = new int[1];
+
+    BinaryTreeMatchFinder(CompressionLevel level) {
+        super(level);
+    }
+
+    @Override
+    int[][] tables() {
+        return new int[][]{head3, head4, son};
+    }
+
+    @Override
+    int[][] ringTables() {
+        return new int[][]{son};
+    }
+
+    @Override
+    int entriesPerPosition() {
+        return 2;
+    }
+
+    @Override
+    public void insert(byte[] data, int pos) {
+        if (pos < frontier || !insertable(data, pos)) {
+            return;
+        }
+        head3[hash3(data, pos)] = stamp(pos);
+        walk(data, pos, null, null, 0, 0, false);
+    }
+
+    @Override
+    public void findLongestMatch(byte[] data, int pos, int maxChain, int[] out) {
+        out[0] = 0;
+        out[1] = 0;
+        if (pos < frontier || pos + 4 > data.length) {
+            return;
+        }
+        int count = shortMatch(data, pos, longestLength, longestDistance, 0);
+        int bestLength = count == 0 ? 0 : longestLength[0];
+        if (insertable(data, pos)) {
+            head3[hash3(data, pos)] = stamp(pos);
+        }
+        count += walk(data, pos, longestLength, longestDistance, 0, bestLength, false);
+        if (count > 0) {
+            out[0] = longestDistance[0];
+            out[1] = longestLength[0];
+        }
+    }
+
+    @Override
+    public int findAllMatches(byte[] data, int pos, int[] lengths, int[] distances, int offset) {
+        if (pos < frontier || pos + 4 > data.length) {
+            return 0;
+        }
+        int count = shortMatch(data, pos, lengths, distances, offset);
+        int bestLength = count == 0 ? MIN_MATCH - 1 : lengths[offset];
+        if (insertable(data, pos)) {
+            head3[hash3(data, pos)] = stamp(pos);
+        }
+        return count + walk(data, pos, lengths, distances, offset + count, bestLength, true);
+    }
+
+    // 비교 한도가 niceLength 로 같아야 트리 순서가 유지됨 - 블록 끝에서 한도가 줄어든 채로 나눈 노드는
+    // 다음 블록에서 뒤 데이터가 붙으면 순서가 어긋나 건너뛴 접두사가 실제로는 다를 수 있음
+    private boolean insertable(byte[] data, int pos) {
+        return data.length - pos >= Math.max(4, level.niceLength);
+    }
+
+    // 3 바이트 해시의 최근 위치가 가까운 매치면 기록하고 1, 아니면 0
+    private int shortMatch(byte[] data, int pos, int[] lengths, int[] distances, int offset) {
+        int candidate = position(head3[hash3(data, pos)]);
+        if (candidate == -1) {
+            return 0;
+        }
+        chainSteps++;
+        int distance = pos - candidate;
+        if (distance > MAX_SHORT_DISTANCE
+                || data[candidate] != data[pos]
+                || data[candidate + 1] != data[pos + 1]
+                || data[candidate + 2] != data[pos + 2]) {
+            return 0;
+        }
+        lengths[offset] = MatchLength.of(data, candidate, pos, Math.min(MAX_MATCH, data.length - pos));
+        distances[offset] = distance;
+        return 1;
+    }
+
+    // pos 를 트리 뿌리로 넣으며 지나가는 노드와 비교 - lengths 가 있으면 bestLength 보다 긴 매치를 기록
+    // all 이면 offset 부터 차례로 모두 기록 (기록 수 반환), 아니면 offset 한 칸을 덮어써 최장 매치만 남김 (찾았으면 1)
+    // 트리 모양을 지키기 위해 탐색 깊이는 호출자의 체인 길이와 관계없이 레벨의 maxChain
+    // 넣을 수 없는 위치(insertable 이 false)는 트리를 바꾸지 않고 따라 내려가기만 함
+    private int walk(byte[] data, int pos, int[] lengths, int[] distances, int offset, int bestLength, boolean all) {
+        int maxLength = Math.min(MAX_MATCH, data.length - pos);
+        // niceLength 까지만 비교해 트리를 나누고, 그 길이에 닿은 매치만 나중에 끝까지 늘림
+        int limit = Math.min(level.niceLength, maxLength);
+        boolean insert = insertable(data, pos);
+        int hash = hash4(data, pos);
+        int current = head4[hash];
+        if (insert) {
+            head4[hash] = stamp(pos);
+            frontier = pos + 1;
+        }
+
+        int smaller = (pos & WINDOW_MASK) << 1;
+        int larger = smaller + 1;
+        int smallerLength = 0;
+        int largerLength = 0;
+        int count = 0;
+        int steps = 0;
+        while (true) {
+            int candidate = position(current);
+            int distance = pos - candidate;
+            if (candidate == -1 || distance >= WINDOW_SIZE || steps >= level.maxChain) {
+                if (insert) {
+                    son[smaller] = -1;
+                    son[larger] = -1;
+                }
+                break;
+            }
+            steps++;
+            int pair = (candidate & WINDOW_MASK) << 1;
+            // 두 경계 노드와의 공통 접두사 중 짧은 쪽까지는 이미 같음
+            int length = Math.min(smallerLength, largerLength);
+            if (data[candidate + length] == data[pos + length]) {
+                length += 1 + MatchLength.of(data, candidate + length + 1, pos + length + 1, limit - length - 1);
+            }
+
+            if (lengths != null && length > bestLength) {
+                bestLength = length;
+                int slot = all ? offset + count++ : offset;
+                lengths[slot] = length;
+                distances[slot] = distance;
+                count = all ? count : 1;
+            }
+            if (length == limit) {
+                // 비교 한도까지 같으면 candidate 를 pos 로 대체 - candidate 의 자식을 그대로 물려받음
+                if (insert) {
+                    son[smaller] = son[pair];
+                    son[larger] = son[pair + 1];
+                }
+                break;
+            }
+            if ((data[candidate + length] & 0xFF) < (data[pos + length] & 0xFF)) {
+                if (insert) {
+                    son[smaller] = current;
+                }
+                smaller = pair + 1;
+                current = son[smaller];
+                smallerLength = length;
+            } else {
+                if (insert) {
+                    son[larger] = current;
+                }
+                larger = pair;
+                current = son[larger];
+                largerLength = length;
+            }
+        }
+        chainSteps += steps;
+
+        // 한도에 닿은 마지막 매치는 최대 길이까지 늘림
+        if (count > 0 && bestLength == limit && limit < maxLength) {
+            int slot = all ? offset + count - 1 : offset;
+            int from = pos - distances[slot];
+            lengths[slot] = limit + MatchLength.of(data, from + limit, pos + limit, maxLength - limit);
+        }
+        return count;
+    }
+}
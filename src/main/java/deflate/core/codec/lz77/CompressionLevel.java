@@ -0,0 +1,48 @@
+package deflate.core.codec.lz77;
+
+public enum CompressionLevel {
+    // 1~3: 탐욕 매칭, 짧은 체인, 긴 매치는 내부 위치를 해시에 삽입하지 않음
+    LEVEL_1(4, 4, 8, 4, false, MatchFinderType.HASH4_CHAIN),
+    LEVEL_2(4, 5, 16, 8, false, MatchFinderType.HASH4_CHAIN),
+    LEVEL_3(4, 6, 32, 32, false, MatchFinderType.HASH4_CHAIN),
+    // 4~9: 한 칸 지연(lazy) 매칭, 레벨이 오를수록 깊은 탐색
+    // 기본 탐색기: 5 까지는 4 바이트 해시 체인, 6~8 은 길이 3 매치도 찾는 이중 해시, 9 는 체인이 길어져도 느려지지 않는 이진 트리
+    LEVEL_4(4, 4, 16, 16, true, MatchFinderType.HASH4_CHAIN),
+    LEVEL_5(8, 16, 32, 32, true, MatchFinderType.HASH4_CHAIN),
+    LEVEL_6(8, 16, 128, 128, true, MatchFinderType.DUAL_HASH),
+    LEVEL_7(8, 32, 128, 256, true, MatchFinderType.DUAL_HASH),
+    LEVEL_8(32, 128, 258, 1024, true, MatchFinderType.DUAL_HASH),
+    LEVEL_9(32, 258, 258, 4096, true, MatchFinderType.BINARY_TREE);
+
+    public static final CompressionLevel DEFAULT = LEVEL_6;
+
+    // 이 길이 이상의 매치가 있으면 지연 탐색 시 체인을 1/4 로 줄임
+    public final int goodLength;
+    // 지연 매칭: 이 길이 이상이면 다음 위치를 탐색하지 않음
+    // 탐욕 매칭: 이 길이 이하의 매치만 내부 위치를 해시에 삽입
+    public final int maxLazy;
+    // 이 길이 이상의 매치를 찾으면 탐색 중단
+    public final int niceLength;
+    // 해시 체인 최대 탐색 횟수
+    public final int maxChain;
+    public final boolean lazyMatching;
+    // 기본 매치 탐색 방식
+    public final MatchFinderType matchFinder;
+
+    CompressionLevel(int goodLength, int maxLazy, int niceLength, int maxChain, boolean lazyMatching,
+                     MatchFinderType matchFinder) {
+        this.goodLength = goodLength;
+        this.maxLazy = maxLazy;
+        this.niceLength = niceLength;
+        this.maxChain = maxChain;
+        this.lazyMatching = lazyMatching;
+        this.matchFinder = matchFinder;
+    }
+
+    public static CompressionLevel of(int level) {
+        if (level < 1 || level > 9) {
+            throw new IllegalArgumentException("Compression level must be between 1 and 9: " + level);
+        }
+        return values()[level - 1];
+    }
+}
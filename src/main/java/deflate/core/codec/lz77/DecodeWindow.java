@@ -0,0 +1,79 @@
+package deflate.core.codec.lz77;
+
+import deflate.core.io.InputStream;
+
+import java.io.IOException;
+
+// 복원 출력용 링 버퍼 - 최근 32KB 는 매치 참조용 이력, 그 외 공간은 아직 읽어 가지 않은 출력
+// 블록 크기나 블록 수와 관계없이 메모리는 RING_SIZE 로 고정
+public final class DecodeWindow {
+    public static final int WINDOW_SIZE = 32768;
+    // 심볼 하나로 나올 수 있는 최대 출력 - 보류했던 0 바이트, 매치(최대 258), nextByte
+    public static final int MAX_TOKEN_OUTPUT = 260;
+    private static final int RING_SIZE = 2 * WINDOW_SIZE;
+    private static final int MASK = RING_SIZE - 1;
+
+    private final byte[] ring = new byte[RING_SIZE];
+    // 지금까지 쓴 바이트 수와 읽어 간 바이트 수, 링 인덱스는 (값 & MASK)
+    private long written;
+    private long read;
+
+    // 읽어 가지 않은 출력을 덮어쓰지 않고 더 쓸 수 있는 바이트 수
+    public int writable() {
+        return RING_SIZE - available();
+    }
+
+    public int available() {
+        return (int) (written - read);
+    }
+
+    public long getTotalOut() {
+        return written;
+    }
+
+    public void put(byte b) {
+        ring[(int) (written++ & MASK)] = b;
+    }
+
+    // distance 바이트 앞에서 length 바이트 복사, 겹치는 복사는 반복 패턴이 됨
+    public void copy(int distance, int length) throws IOException {
+        if (distance <= 0 || distance > WINDOW_SIZE || distance > written) {
+            throw new IOException("Invalid distance: " + distance);
+        }
+        int to = (int) (written & MASK);
+        int from = (to - distance) & MASK;
+        if (distance >= length && from + length <= RING_SIZE && to + length <= RING_SIZE) {
+            System.arraycopy(ring, from, ring, to, length);
+        } else {
+            for (int i = 0; i < length; i++) {
+                ring[(to + i) & MASK] = ring[(from + i) & MASK];
+            }
+        }
+        written += length;
+    }
+
+    // 저장 블록 데이터를 비트 스트림에서 링으로 바로 읽음 (length 는 writable() 이하)
+    public void readFrom(InputStream in, int length) throws IOException {
+        while (length > 0) {
+            int to = (int) (written & MASK);
+            int chunk = Math.min(length, RING_SIZE - to);
+            in.readBytes(ring, to, chunk);
+            written += chunk;
+            length -= chunk;
+        }
+    }
+
+    // 읽어 가지 않은 출력을 dest 로 복사, 복사한 바이트 수 반환
+    public int read(byte[] dest, int offset, int length) {
+        length = Math.min(length, available());
+        int copied = 0;
+        while (copied < length) {
+            int from = (int) (read & MASK);
+            int chunk = Math.min(length - copied, RING_SIZE - from);
+            System.arraycopy(ring, from, dest, offset + copied, chunk);
+            read += chunk;
+            copied += chunk;
+        }
+        return copied;
+    }
+}
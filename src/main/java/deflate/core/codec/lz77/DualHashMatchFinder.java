@@ -0,0 +1,156 @@
+package deflate.core.codec.lz77;
+
+// 4 바이트 해시 체인으로 길이 4 이상 매치를 찾고, 그런 매치가 없을 때만 3 바이트 해시의 최근 위치 하나로 길이 3 매치 확인
+// 길이 3 후보는 체인 없이 한 칸만 두므로 흔한 3 바이트 조합이 긴 체인을 만들지 않음
+final class DualHashMatchFinder extends AbstractMatchFinder {
+    // 먼 거리의 길이 3 매치는 리터럴 3 개보다 비싸므로 버림
+    private static final int MAX_SHORT_DISTANCE = 4096;
+
+    private final int[] head3 = emptyTable(HASH_SIZE);
+    private final int[] head4 = emptyTable(HASH_SIZE);
+    private final int[] prev4 = emptyTable(WINDOW_SIZE);
+
+    DualHashMatchFinder(CompressionLevel level) {
+        super(level);
+    }
+
+    @Override
+    int[][] tables() {
+        return new int[][]{head3, head4, prev4};
+    }
+
+    @Override
+    int[][] ringTables() {
+        return new int[][]{prev4};
+    }
+
+    @Override
+    int entriesPerPosition() {
+        return 1;
+    }
+
+    @Override
+    public void insert(byte[] data, int pos) {
+        if (pos < frontier || pos + MIN_MATCH > data.length) {
+            return;
+        }
+        int stored = stamp(pos);
+        head3[hash3(data, pos)] = stored;
+        if (pos + 4 <= data.length) {
+            int hash = hash4(data, pos);
+            prev4[pos & WINDOW_MASK] = head4[hash];
+            head4[hash] = stored;
+        } else {
+            prev4[pos & WINDOW_MASK] = -1;
+        }
+        frontier = pos + 1;
+    }
+
+    @Override
+    public void findLongestMatch(byte[] data, int pos, int maxChain, int[] out) {
+        out[0] = 0;
+        out[1] = 0;
+        if (pos < frontier || pos + MIN_MATCH > data.length) {
+            return;
+        }
+        int maxLength = Math.min(MAX_MATCH, data.length - pos);
+        int bestLength = 0;
+        int bestDistance = 0;
+        if (maxLength >= 4) {
+            int chainPos = position(head4[hash4(data, pos)]);
+            int steps = 0;
+            while (chainPos != -1 && steps < maxChain) {
+                steps++;
+                int distance = pos - chainPos;
+                if (distance > WINDOW_SIZE) {
+                    break;
+                }
+                if (data[chainPos + bestLength] == data[pos + bestLength]) {
+                    int length = MatchLength.of(data, chainPos, pos, maxLength);
+                    if (length > bestLength) {
+                        bestLength = length;
+                        bestDistance = distance;
+                        if (length >= level.niceLength || length == maxLength) {
+                            break;
+                        }
+                    }
+                }
+                chainPos = position(prev4[chainPos & WINDOW_MASK]);
+            }
+            chainSteps += steps;
+        }
+        if (bestLength < MIN_MATCH) {
+            int distance = shortMatchDistance(data, pos);
+            if (distance != 0) {
+                bestLength = MatchLength.of(data, pos - distance, pos, maxLength);
+                bestDistance = distance;
+            }
+        }
+        insert(data, pos);
+        out[0] = bestDistance;
+        out[1] = bestLength;
+    }
+
+    @Override
+    public int findAllMatches(byte[] data, int pos, int[] lengths, int[] distances, int offset) {
+        if (pos < frontier || pos + MIN_MATCH > data.length) {
+            return 0;
+        }
+        int maxLength = Math.min(MAX_MATCH, data.length - pos);
+        int bestLength = MIN_MATCH - 1;
+        int count = 0;
+        // 짧은 후보부터 기록해야 길이가 늘어나는 순서가 유지됨
+        int shortDistance = shortMatchDistance(data, pos);
+        if (shortDistance != 0) {
+            int length = MatchLength.of(data, pos - shortDistance, pos, maxLength);
+            bestLength = length;
+            lengths[offset] = length;
+            distances[offset] = shortDistance;
+            count++;
+        }
+        if (maxLength >= 4 && bestLength < maxLength) {
+            int chainPos = position(head4[hash4(data, pos)]);
+            int steps = 0;
+            while (chainPos != -1 && steps < level.maxChain) {
+                steps++;
+                int distance = pos - chainPos;
+                if (distance > WINDOW_SIZE) {
+                    break;
+                }
+                if (data[chainPos + bestLength] == data[pos + bestLength]) {
+                    int length = MatchLength.of(data, chainPos, pos, maxLength);
+                    if (length > bestLength) {
+                        bestLength = length;
+                        lengths[offset + count] = length;
+                        distances[offset + count] = distance;
+                        count++;
+                        if (length == maxLength) {
+                            break;
+                        }
+                    }
+                }
+                chainPos = position(prev4[chainPos & WINDOW_MASK]);
+            }
+            chainSteps += steps;
+        }
+        insert(data, pos);
+        return count;
+    }
+
+    // 3 바이트 해시의 최근 위치가 가까운 길이 3 이상 매치면 그 거리, 아니면 0
+    private int shortMatchDistance(byte[] data, int pos) {
+        int candidate = position(head3[hash3(data, pos)]);
+        if (candidate == -1) {
+            return 0;
+        }
+        chainSteps++;
+        int distance = pos - candidate;
+        if (distance > MAX_SHORT_DISTANCE
+                || data[candidate] != data[pos]
+                || data[candidate + 1] != data[pos + 1]
+                || data[candidate + 2] != data[pos + 2]) {
+            return 0;
+        }
+        return distance;
+    }
+}
@@ -0,0 +1,117 @@
+package deflate.core.codec.lz77;
+
+// 해시 머리(head)와 체인 연결(prev) - 같은 해시의 이전 위치를 최근 순으로 따라감
+final class HashChainMatchFinder extends AbstractMatchFinder {
+    // 해시를 만드는 바이트 수 (3 또는 4)
+    private final int hashBytes;
+    private final int[] head = emptyTable(HASH_SIZE);
+    private final int[] prev = emptyTable(WINDOW_SIZE);
+
+    HashChainMatchFinder(CompressionLevel level, int hashBytes) {
+        super(level);
+        this.hashBytes = hashBytes;
+    }
+
+    @Override
+    int[][] tables() {
+        return new int[][]{head, prev};
+    }
+
+    @Override
+    int[][] ringTables() {
+        return new int[][]{prev};
+    }
+
+    @Override
+    int entriesPerPosition() {
+        return 1;
+    }
+
+    private int hash(byte[] data, int pos) {
+        return hashBytes == 3 ? hash3(data, pos) : hash4(data, pos);
+    }
+
+    @Override
+    public void insert(byte[] data, int pos) {
+        if (pos < frontier || pos + hashBytes > data.length) {
+            return;
+        }
+        int hash = hash(data, pos);
+        prev[pos & WINDOW_MASK] = head[hash];
+        head[hash] = stamp(pos);
+        frontier = pos + 1;
+    }
+
+    @Override
+    public void findLongestMatch(byte[] data, int pos, int maxChain, int[] out) {
+        out[0] = 0;
+        out[1] = 0;
+        if (pos < frontier || pos + hashBytes > data.length) {
+            return;
+        }
+        int maxLength = Math.min(MAX_MATCH, data.length - pos);
+        int bestLength = 0;
+        int bestDistance = 0;
+        int chainPos = position(head[hash(data, pos)]);
+        int steps = 0;
+        while (chainPos != -1 && steps < maxChain) {
+            steps++;
+            int distance = pos - chainPos;
+            // 체인은 최근 위치부터이므로 윈도우를 벗어나면 이후 후보도 모두 벗어남
+            if (distance > WINDOW_SIZE) {
+                break;
+            }
+            // 빠른 예비 검사: 현 매치 길이 위치의 바이트가 같아야 더 긴 매치가 될 수 있음
+            if (data[chainPos + bestLength] == data[pos + bestLength]) {
+                int length = MatchLength.of(data, chainPos, pos, maxLength);
+                if (length > bestLength) {
+                    bestLength = length;
+                    bestDistance = distance;
+                    if (length >= level.niceLength || length == maxLength) {
+                        break;
+                    }
+                }
+            }
+            chainPos = position(prev[chainPos & WINDOW_MASK]);
+        }
+        chainSteps += steps;
+        insert(data, pos);
+        out[0] = bestDistance;
+        out[1] = bestLength;
+    }
+
+    @Override
+    public int findAllMatches(byte[] data, int pos, int[] lengths, int[] distances, int offset) {
+        if (pos < frontier || pos + hashBytes > data.length) {
+            return 0;
+        }
+        int maxLength = Math.min(MAX_MATCH, data.length - pos);
+        int bestLength = MIN_MATCH - 1;
+        int count = 0;
+        int chainPos = position(head[hash(data, pos)]);
+        int steps = 0;
+        while (chainPos != -1 && steps < level.maxChain) {
+            steps++;
+            int distance = pos - chainPos;
+            if (distance > WINDOW_SIZE) {
+                break;
+            }
+            if (data[chainPos + bestLength] == data[pos + bestLength]) {
+                int length = MatchLength.of(data, chainPos, pos, maxLength);
+                if (length > bestLength) {
+                    bestLength = length;
+                    lengths[offset + count] = length;
+                    distances[offset + count] = distance;
+                    count++;
+                    if (length == maxLength) {
+                        break;
+                    }
+                }
+            }
+            chainPos = position(prev[chainPos & WINDOW_MASK]);
+        }
+        chainSteps += steps;
+        insert(data, pos);
+        return count;
+    }
+}
@@ -1,125 +1,96 @@
 package deflate.core.codec.lz77;
 
+import deflate.core.codec.type.DeflateFormat;
+
 import java.util.Arrays;
 
 public class LZ77Service {
     private static final int WINDOW_SIZE = 32768;
     private static final int LOOKAHEAD_SIZE = 258;
-    private static final int HASH_SIZE = 65536;
     private static final int MIN_MATCH_LENGTH = 3;
+    // 탐색기가 뒤 데이터가 모자라 넣지 않고 미룰 수 있는 블록 끝 위치 수 - 해시 바이트(4) 또는 트리 비교 길이(niceLength)
+    private static final int MAX_DEFERRED_POSITIONS = LOOKAHEAD_SIZE;
+
+    private final MatchFinder matchFinder;
+    // 휴리스틱 파싱 결과, 다음 generateCodes 호출 전까지만 유효
+    private final EncodingResult heuristicResult = new EncodingResult(1024);
+    // 이력 + 블록을 이어 붙이는 작업 버퍼, 길이가 같으면 재사용
+    private byte[] window;
+    // 마지막 generateCodes 에서 비교한 후보 수
+    private long chainSteps;
+
+    private final CompressionLevel level;
+    // LEGACY 면 매치가 다음 바이트까지 소비, 그 외에는 (길이, 거리) 만 소비
+    private final DeflateFormat format;
 
-    // 해시 머리(head)와 체인 연결(prev)만 사용
-    private final int[] hashHead;
-    private final int[] prev;
+    // true 면 블록 경계를 넘어 직전 32KB 이력과 해시 체인을 유지
+    private final boolean keepHistory;
+    // 직전 블록의 마지막 32KB
+    private byte[] history;
+    // 직전 블록 압축에 사용한 버퍼(이력 + 블록) 길이, 체인의 위치 값은 이 버퍼 기준
+    private int previousLength;
+    // false 면 이력이 해시 체인에 들어 있지 않음 (저장 블록을 건너뛴 직후)
+    private boolean historyIndexed;
+    // 해시에 아직 삽입하지 않은 첫 위치
+    private int nextInsert;
 
     public LZ77Service() {
-        hashHead = new int[HASH_SIZE];
-        prev = new int[WINDOW_SIZE];
-        Arrays.fill(hashHead, -1);
-        Arrays.fill(prev, -1);
+        this(CompressionLevel.DEFAULT, false);
     }
 
-    // 3-바이트 기반 해시 함수
-    private int hash3(byte[] data, int pos) {
-        if (pos + 2 >= data.length) return 0;
-        return ((data[pos] & 0xFF) << 16) |
-                ((data[pos + 1] & 0xFF) << 8) |
-                (data[pos + 2] & 0xFF);
+    public LZ77Service(boolean keepHistory) {
+        this(CompressionLevel.DEFAULT, keepHistory);
     }
 
-    // 해시 체인에 위치 삽입 (슬라이딩 윈도우 적용)
-    private void insertString(int pos, byte[] data) {
-        if (pos + MIN_MATCH_LENGTH - 1 >= data.length) return;
-        int hash = hash3(data, pos) & (HASH_SIZE - 1);
-        int windowPos = pos & (WINDOW_SIZE - 1);
-        prev[windowPos] = hashHead[hash];
-        hashHead[hash] = pos;
+    public LZ77Service(CompressionLevel level, boolean keepHistory) {
+        this(level, keepHistory, DeflateFormat.LEGACY);
     }
 
-    // 최장 매치 검색 - 결과는 out[0]=distance, out[1]=length
-    private void findLongestMatch(byte[] data, int currentPos, int[] out) {
-        int bestLength = 0;
-        int bestDistance = 0;
-        out[0] = 0;
-        out[1] = 0;
+    public LZ77Service(CompressionLevel level, boolean keepHistory, DeflateFormat format) {
+        this(level, keepHistory, format, level.matchFinder);
+    }
 
-        if (currentPos + MIN_MATCH_LENGTH - 1 >= data.length) {
-            return;
-        }
-        int hash = hash3(data, currentPos) & (HASH_SIZE - 1);
-        int chainPos = hashHead[hash];
-        int maxChain = 256;
+    public LZ77Service(CompressionLevel level, boolean keepHistory, DeflateFormat format, MatchFinderType matchFinderType) {
+        this.level = level;
+        this.format = format;
+        this.keepHistory = keepHistory;
+        this.matchFinder = matchFinderType.create(level);
+    }
 
-        while (chainPos != -1 && maxChain-- > 0) {
-            int distance = currentPos - chainPos;
-            if (distance <= 0 || distance > WINDOW_SIZE) {
-                chainPos = prev[chainPos & (WINDOW_SIZE - 1)];
-                continue;
-            }
+    // 탐색기와 이력을 버리고 새 스트림처럼 시작 - 배열을 채우지 않고 세대만 올림
+    public void reset() {
+        history = null;
+        previousLength = 0;
+        historyIndexed = false;
+        matchFinder.reset();
+    }
 
-            // 빠른 예비 검사: 현 매치 길이 이후 문자 비교
-            int checkIdxChain = chainPos + bestLength;
-            int checkIdxCur = currentPos + bestLength;
-            if (checkIdxChain >= data.length || checkIdxCur >= data.length
-                    || data[checkIdxChain] != data[checkIdxCur]) {
-                chainPos = prev[chainPos & (WINDOW_SIZE - 1)];
-                continue;
-            }
+    public DeflateFormat getFormat() {
+        return format;
+    }
 
-            // 실제 매칭 길이 계산
-            int matchLength = getMatchLength(data, chainPos, currentPos);
-            if (matchLength > bestLength) {
-                bestLength = matchLength;
-                bestDistance = distance;
-                if (bestLength >= LOOKAHEAD_SIZE) break;
-            }
-            chainPos = prev[chainPos & (WINDOW_SIZE - 1)];
-        }
-        out[0] = bestDistance;
-        out[1] = bestLength;
-    }
-
-    // 8바이트 단위 비교로 매치 길이 계산
-    private int getMatchLength(byte[] data, int pos1, int pos2) {
-        int maxLength = Math.min(LOOKAHEAD_SIZE, data.length - pos2);
-        // also ensure pos1 has enough bytes to compare up to maxLength
-        maxLength = Math.min(maxLength, data.length - pos1);
-        int length = 0;
-        while (length + 8 <= maxLength) {
-            long word1 = getLong(data, pos1 + length);
-            long word2 = getLong(data, pos2 + length);
-            if (word1 != word2) {
-                // 일치가 깨지는 바이트 위치 찾기
-                while (length < maxLength && data[pos1 + length] == data[pos2 + length]) {
-                    length++;
-                }
-                return length;
-            }
-            length += 8;
-        }
-        while (length < maxLength && data[pos1 + length] == data[pos2 + length]) {
-            length++;
+    // nextInsert 부터 end 직전까지 위치를 차례로 삽입
+    private void insertUpTo(int end, byte[] data) {
+        while (nextInsert < end) {
+            matchFinder.insert(data, nextInsert++);
         }
-        return length;
     }
 
-    private long getLong(byte[] data, int pos) {
-        // 바운더리 체크 후 8바이트 리틀엔디언 읽기
-        if (pos + 8 > data.length) {
-            long result = 0;
-            for (int i = 0; i < data.length - pos; i++) {
-                result |= ((long)(data[pos + i] & 0xFF)) << (8 * i);
+    // pos 의 최장 매치 - 탐색기가 pos 까지 추가하므로 다음 삽입 위치를 넘김
+    private void findLongestMatch(byte[] data, int pos, int maxChain, int[] out) {
+        // 같은 바이트가 niceLength 이상 반복되면 후보를 따라가지 않고 거리 1 매치로 바로 처리
+        if (pos > 0 && data[pos] == data[pos - 1]) {
+            int run = MatchLength.run(data, pos, Math.min(LOOKAHEAD_SIZE, data.length - pos));
+            if (run >= level.niceLength) {
+                matchFinder.insert(data, pos);
+                nextInsert = Math.max(nextInsert, pos + 1);
+                out[0] = 1;
+                out[1] = run;
+                return;
             }
-            return result;
         }
-        return ((long)(data[pos] & 0xFF))       |
-                ((long)(data[pos+1] & 0xFF) << 8) |
-                ((long)(data[pos+2] & 0xFF) << 16)|
-                ((long)(data[pos+3] & 0xFF) << 24)|
-                ((long)(data[pos+4] & 0xFF) << 32)|
-                ((long)(data[pos+5] & 0xFF) << 40)|
-                ((long)(data[pos+6] & 0xFF) << 48)|
-                ((long)(data[pos+7] & 0xFF) << 56);
+        matchFinder.findLongestMatch(data, pos, maxChain, out);
+        nextInsert = Math.max(nextInsert, pos + 1);
     }
 
     public static class EncodingResult {
@@ -144,6 +115,20 @@ public class LZ77Service {
             nextBytes = Arrays.copyOf(nextBytes, newCap);
         }
 
+        public void clear() {
+            count = 0;
+        }
+
+        // 토큰 수에 맞춘 사본 - 다음 generateCodes 이후에도 써야 할 때 (파이프라인 압축)
+        public EncodingResult copy() {
+            EncodingResult copy = new EncodingResult(Math.max(1, count));
+            System.arraycopy(offsets, 0, copy.offsets, 0, count);
+            System.arraycopy(lengths, 0, copy.lengths, 0, count);
+            System.arraycopy(nextBytes, 0, copy.nextBytes, 0, count);
+            copy.count = count;
+            return copy;
+        }
+
         public void add(int offset, int length, byte next) {
             ensureCapacity(count + 1);
             offsets[count] = offset;
@@ -169,72 +154,166 @@ public class LZ77Service {
         }
     }
 
-    public EncodingResult generateCodes(byte[] data) {
+    // 직전 버퍼의 마지막 32KB 를 이력으로 앞에 붙이고 체인 위치를 그만큼 당김
+    private byte[] prependHistory(byte[] data) {
+        int keep = history.length;
+        if (window == null || window.length != keep + data.length) {
+            window = new byte[keep + data.length];
+        }
+        byte[] buffer = window;
+        System.arraycopy(history, 0, buffer, 0, keep);
+        System.arraycopy(data, 0, buffer, keep, data.length);
+        matchFinder.slide(previousLength - keep);
+
+        // 직전 블록 끝의 위치는 뒤 데이터가 모자라 삽입되지 않았을 수 있으므로 지금 삽입 (이미 들어간 위치는 탐색기가 무시)
+        int from = historyIndexed ? Math.max(0, keep - MAX_DEFERRED_POSITIONS) : 0;
+        for (int pos = from; pos < keep; pos++) {
+            matchFinder.insert(buffer, pos);
+        }
+        historyIndexed = true;
+        return buffer;
+    }
+
+    // 압축하지 않고 그대로 저장한 블록을 이력에만 반영 (체인은 다음 블록에서 다시 구성)
+    public void appendHistory(byte[] block) {
+        if (!keepHistory) {
+            return;
+        }
+        int keep = history == null ? 0 : Math.min(history.length, WINDOW_SIZE - Math.min(block.length, WINDOW_SIZE));
+        byte[] buffer = new byte[keep + Math.min(block.length, WINDOW_SIZE)];
+        if (keep > 0) {
+            System.arraycopy(history, history.length - keep, buffer, 0, keep);
+        }
+        System.arraycopy(block, block.length - (buffer.length - keep), buffer, keep, buffer.length - keep);
+        history = buffer;
+        previousLength = buffer.length;
+        matchFinder.reset();
+        historyIndexed = false;
+    }
+
+    public long getChainSteps() {
+        return chainSteps;
+    }
+
+    public EncodingResult generateCodes(byte[] block) {
+        return generateCodes(block, ParseStrategy.HEURISTIC);
+    }
+
+    public EncodingResult generateCodes(byte[] block, ParseStrategy strategy) {
+        long startSteps = matchFinder.getChainSteps();
+        byte[] data = block;
+        if (keepHistory && history != null) {
+            data = prependHistory(block);
+        } else {
+            matchFinder.reset();
+        }
         int n = data.length;
-        EncodingResult compressed = new EncodingResult(Math.max(64, n / 2));
+        int start = n - block.length;
+
+        EncodingResult compressed = strategy == ParseStrategy.OPTIMAL
+                ? generateOptimalCodes(data, start)
+                : generateHeuristicCodes(data, start);
+
+        chainSteps = matchFinder.getChainSteps() - startSteps;
+
+        // 호출자가 블록 버퍼를 재사용할 수 있으므로 이력은 복사해 둠
+        if (keepHistory) {
+            int keep = Math.min(WINDOW_SIZE, n);
+            if (history == null || history.length != keep) {
+                history = new byte[keep];
+            }
+            System.arraycopy(data, n - keep, history, 0, keep);
+            previousLength = n;
+            historyIndexed = true;
+        }
+        return compressed;
+    }
 
-        Arrays.fill(hashHead, -1);
-        Arrays.fill(prev, -1);
+    // 레벨 설정에 따른 탐욕/지연 매칭
+    private EncodingResult generateHeuristicCodes(byte[] data, int start) {
+        int n = data.length;
+        EncodingResult compressed = heuristicResult;
+        compressed.clear();
 
         int[] matchOut = new int[2]; // out[0]=distance, out[1]=length
-        int i = 0;
+        int i = start;
+        nextInsert = i;
+        boolean searched = false; // i 위치 매치를 지연 탐색에서 이미 찾았는지
         while (i < n) {
-            findLongestMatch(data, i, matchOut);
+            if (!searched) {
+                findLongestMatch(data, i, level.maxChain, matchOut);
+            }
+            searched = false;
             int distance = matchOut[0];
             int length = matchOut[1];
+            // 블록 마지막 바이트 0 이 nextByte 가 되면 복원 시 '다음 바이트 없음'과 구분되지 않으므로 한 바이트 양보
+            if (format.nextByteTokens && i + length == n - 1 && data[n - 1] == 0) {
+                length--;
+            }
 
             if (length < MIN_MATCH_LENGTH) {
                 // 리터럴
                 compressed.add(0, 0, data[i]);
-                insertString(i, data);
+                insertUpTo(i + 1, data);
                 i++;
-            } else {
-                // 매치 (offset, length, nextByte)
-                byte nextByte = (i + length < n) ? data[i + length] : 0;
-                compressed.add(distance, length, nextByte);
-                // 매치된 모든 위치 삽입
-                for (int j = 0; j <= length; j++) {
-                    insertString(i + j, data);
+                continue;
+            }
+
+            if (level.lazyMatching && length < level.maxLazy && i + 1 < n) {
+                // 한 칸 뒤에서 더 긴 매치가 나오면 현재 바이트는 리터럴로 내보냄
+                insertUpTo(i + 1, data);
+                int chain = length >= level.goodLength ? level.maxChain >> 2 : level.maxChain;
+                findLongestMatch(data, i + 1, chain, matchOut);
+                if (matchOut[1] > length) {
+                    compressed.add(0, 0, data[i]);
+                    i++;
+                    searched = true;
+                    continue;
                 }
-                i += length + 1;
             }
+
+            // 매치 (offset, length, nextByte) - nextByte 가 없는 형식이면 0 으로 두고 길이만큼만 소비
+            int consumed = length;
+            byte nextByte = 0;
+            if (format.nextByteTokens) {
+                nextByte = (i + length < n) ? data[i + length] : 0;
+                consumed++;
+            }
+            compressed.add(distance, length, nextByte);
+            if (level.lazyMatching || length <= level.maxLazy) {
+                // 매치된 모든 위치 삽입
+                insertUpTo(i + consumed, data);
+            } else {
+                // 빠른 레벨: 긴 매치는 시작 위치만 삽입
+                insertUpTo(i + 1, data);
+                nextInsert = i + consumed;
+            }
+            i += consumed;
         }
+
         return compressed;
     }
 
-    public byte[] decode(EncodingResult enc) {
-        int count = enc.getCount();
-        int[] offsets = enc.getOffsets();
-        int[] lengths = enc.getLengths();
-        byte[] nextBytes = enc.getNextBytes();
-
-        int cap = Math.max(1024, count * 4 + 16);
-        byte[] out = new byte[cap];
-        int outPos = 0;
-
-        for (int idx = 0; idx < count; idx++) {
-            int off = offsets[idx];
-            int len = lengths[idx];
-            byte nxt = nextBytes[idx];
+    // 모든 위치의 매치 후보를 모은 뒤 비트 비용 기준 최단 경로로 토큰 선택
+    private EncodingResult generateOptimalCodes(byte[] data, int start) {
+        int n = data.length;
+        int positions = n - start;
+        int[] matchStart = new int[positions + 1];
+        int[] matchLengths = new int[Math.max(LOOKAHEAD_SIZE, positions)];
+        int[] matchDistances = new int[matchLengths.length];
+        int count = 0;
 
-            if (off == 0 && len == 0) {
-                // literal
-                if (outPos + 1 > out.length) out = Arrays.copyOf(out, out.length * 2 + 1);
-                out[outPos++] = nxt;
-            } else {
-                int start = outPos - off;
-                int need = outPos + len + 1;
-                if (need > out.length) out = Arrays.copyOf(out, Math.max(need, out.length * 2));
-                for (int j = 0; j < len; j++) {
-                    out[outPos++] = out[start + j];
-                }
-                boolean lastTripleAndZeroNext = (idx == count - 1 && nxt == 0);
-                if (!lastTripleAndZeroNext) {
-                    if (outPos + 1 > out.length) out = Arrays.copyOf(out, out.length * 2 + 1);
-                    out[outPos++] = nxt;
-                }
+        nextInsert = start;
+        for (int pos = start; pos < n; pos++) {
+            if (count + LOOKAHEAD_SIZE > matchLengths.length) {
+                matchLengths = Arrays.copyOf(matchLengths, matchLengths.length * 2);
+                matchDistances = Arrays.copyOf(matchDistances, matchDistances.length * 2);
             }
+            matchStart[pos - start] = count;
+            count += matchFinder.findAllMatches(data, pos, matchLengths, matchDistances, count);
         }
-        return Arrays.copyOf(out, outPos);
+        matchStart[positions] = count;
+
+        return new OptimalParser(format).parse(data, start, matchStart, matchLengths, matchDistances);
     }
 }
@@ -0,0 +1,24 @@
+package deflate.core.codec.lz77;
+
+// LZ77Service 가 쓰는 매치 탐색기 - 위치는 (이력 + 블록) 버퍼 기준, 증가하는 순서로만 추가
+// 탐색은 그 위치를 추가까지 함께 하므로, 이미 추가된 위치에 대한 insert 는 무시됨
+public interface MatchFinder {
+
+    // 모든 위치를 버리고 새 버퍼로 시작
+    void reset();
+
+    // 버퍼 앞쪽 delta 바이트를 버리고 나머지를 앞으로 당긴 만큼 위치 보정 (윈도우 밖 항목은 버림)
+    void slide(int delta);
+
+    // 탐색 없이 pos 추가 - 뒤에 바이트가 모자라 해시를 만들 수 없으면 추가하지 않음
+    void insert(byte[] data, int pos);
+
+    // pos 의 최장 매치를 찾고 pos 추가 - out[0]=distance, out[1]=length (없으면 0)
+    void findLongestMatch(byte[] data, int pos, int maxChain, int[] out);
+
+    // pos 에서 길이가 늘어나는 매치 후보를 모두 기록하고 pos 추가, 후보 수 반환
+    int findAllMatches(byte[] data, int pos, int[] lengths, int[] distances, int offset);
+
+    // 지금까지 비교한 후보 수 (누적)
+    long getChainSteps();
+}
@@ -0,0 +1,35 @@
+package deflate.core.codec.lz77;
+
+// 매치 탐색 방식 - 레벨마다 기본값(CompressionLevel.matchFinder) 이 있고 Deflate/DeflateOutputStream 에서 스트림마다 바꿀 수 있음
+public enum MatchFinderType {
+    // 3 바이트 곱셈 해시 체인 - 길이 3 매치까지 찾음
+    HASH3_CHAIN {
+        @Override
+        public MatchFinder create(CompressionLevel level) {
+            return new HashChainMatchFinder(level, 3);
+        }
+    },
+    // 4 바이트 곱셈 해시 체인 - 체인이 짧고 가짜 후보가 적지만 길이 3 매치는 놓침
+    HASH4_CHAIN {
+        @Override
+        public MatchFinder create(CompressionLevel level) {
+            return new HashChainMatchFinder(level, 4);
+        }
+    },
+    // 4 바이트 해시 체인으로 긴 매치를 먼저 찾고, 없을 때만 3 바이트 해시의 최근 위치 하나를 확인
+    DUAL_HASH {
+        @Override
+        public MatchFinder create(CompressionLevel level) {
+            return new DualHashMatchFinder(level);
+        }
+    },
+    // 4 바이트 해시마다 이진 트리 (BT4) - 깊은 탐색에서도 비교 횟수가 적음, 높은 레벨용
+    BINARY_TREE {
+        @Override
+        public MatchFinder create(CompressionLevel level) {
+            return new BinaryTreeMatchFinder(level);
+        }
+    };
+
+    public abstract MatchFinder create(CompressionLevel level);
+}
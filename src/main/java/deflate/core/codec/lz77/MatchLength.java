@@ -0,0 +1,38 @@
+package deflate.core.codec.lz77;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+// 두 위치에서 시작하는 공통 접두사 길이
+// 앞부분은 8바이트 단위 로드 + XOR, 길게 이어지면 JDK 의 벡터화된 Arrays.mismatch 로 넘김
+final class MatchLength {
+    // 리틀 엔디언이면 XOR 의 하위 0 비트 수 / 8 이 처음 다른 바이트 위치
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    // 후보 대부분은 여기까지 안에서 갈림 - 이보다 길면 mismatch 호출 비용보다 벡터 비교 이득이 큼
+    private static final int WORD_PREFIX = 32;
+
+    private MatchLength() {
+    }
+
+    // pos1 < pos2, 최대 maxLength (호출자가 버퍼 끝을 넘지 않도록 제한)
+    static int of(byte[] data, int pos1, int pos2, int maxLength) {
+        int length = 0;
+        int wordLimit = Math.min(maxLength, WORD_PREFIX) - 8;
+        while (length <= wordLimit) {
+            long diff = (long) LONGS.get(data, pos1 + length) ^ (long) LONGS.get(data, pos2 + length);
+            if (diff != 0) {
+                return length + (Long.numberOfTrailingZeros(diff) >>> 3);
+            }
+            length += 8;
+        }
+        int mismatch = Arrays.mismatch(data, pos1 + length, pos1 + maxLength, data, pos2 + length, pos2 + maxLength);
+        return mismatch < 0 ? maxLength : length + mismatch;
+    }
+
+    // pos 직전 바이트가 반복되는 길이 (거리 1 매치), pos > 0
+    static int run(byte[] data, int pos, int maxLength) {
+        return of(data, pos - 1, pos, maxLength);
+    }
+}
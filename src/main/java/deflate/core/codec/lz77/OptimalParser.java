@@ -0,0 +1,208 @@
+package deflate.core.codec.lz77;
+
+import deflate.core.codec.header.Header;
+import deflate.core.codec.huffman.HuffmanService;
+import deflate.core.codec.type.DeflateFormat;
+import deflate.core.table.DistanceTables;
+import deflate.core.table.LengthTables;
+
+import java.util.Arrays;
+
+final class OptimalParser {
+    private static final int ITERATIONS = 4;
+    private static final int MIN_MATCH_LENGTH = 3;
+    private static final int MAX_MATCH_LENGTH = 258;
+    private static final int MAX_CODE_LENGTH = 15;
+
+    private final HuffmanService huffmanService = new HuffmanService();
+    private final DeflateFormat format;
+
+    // 심볼별 비트 비용 (추가 비트 포함)
+    private final int[] literalCost = new int[256];    // 바이트 값(& 0xFF) 기준
+    private final int[] lengthCost = new int[MAX_MATCH_LENGTH + 1];
+    private final int[] distanceCodeCost = new int[30];
+    // 반복마다 다시 만드는 허프만 길이
+    private final byte[] literalLengths = new byte[286];
+    private final byte[] distanceLengths = new byte[30];
+
+    OptimalParser(DeflateFormat format) {
+        this.format = format;
+    }
+
+    // data[start..] 를 토큰으로 분할, 매치 후보는 위치별로 길이가 증가하는 순서
+    LZ77Service.EncodingResult parse(byte[] data, int start, int[] matchStart, int[] matchLengths, int[] matchDistances) {
+        initialCosts();
+
+        LZ77Service.EncodingResult best = null;
+        long bestBits = Long.MAX_VALUE;
+        for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+            LZ77Service.EncodingResult result = shortestPath(data, start, matchStart, matchLengths, matchDistances);
+            // 이번 결과의 빈도로 허프만 길이를 만들고 그 길이로 크기를 평가, 다음 반복의 비용으로 사용
+            long bits = updateCosts(result);
+            if (bits < bestBits) {
+                bestBits = bits;
+                best = result;
+            } else {
+                break;
+            }
+        }
+        return best;
+    }
+
+    // 첫 반복은 고정 허프만 코드 길이에 가까운 비용 사용
+    private void initialCosts() {
+        Arrays.fill(literalCost, 8);
+        for (int length = MIN_MATCH_LENGTH; length <= MAX_MATCH_LENGTH; length++) {
+            int[] code = LengthTables.LENGTH_EQUAL_CODE_BASE_EXTRABIT[length];
+            lengthCost[length] = (code[0] < 280 ? 7 : 8) + code[2];
+        }
+        Arrays.fill(distanceCodeCost, 5);
+    }
+
+    private int distanceCost(int distance) {
+        int[] code = DistanceTables.search(distance);
+        return distanceCodeCost[code[1]] + code[2];
+    }
+
+    private LZ77Service.EncodingResult shortestPath(byte[] data, int start, int[] matchStart, int[] matchLengths, int[] matchDistances) {
+        int n = data.length;
+        int positions = n - start;
+
+        // price[p] = start+p 까지 오는 최소 비트, from*[p] = 그 경로의 마지막 토큰
+        int[] price = new int[positions + 1];
+        int[] fromPos = new int[positions + 1];
+        int[] fromLength = new int[positions + 1];
+        int[] fromDistance = new int[positions + 1];
+        Arrays.fill(price, Integer.MAX_VALUE);
+        price[0] = 0;
+
+        for (int p = 0; p < positions; p++) {
+            int base = price[p];
+            int pos = start + p;
+
+            // 리터럴
+            int cost = base + literalCost[data[pos] & 0xFF];
+            if (cost < price[p + 1]) {
+                price[p + 1] = cost;
+                fromPos[p + 1] = p;
+                fromLength[p + 1] = 0;
+            }
+
+            // 매치 (offset, length, nextByte) - 후보 길이 이하의 모든 길이를 해당 거리로 시도
+            int minLength = MIN_MATCH_LENGTH;
+            for (int c = matchStart[p]; c < matchStart[p + 1]; c++) {
+                int maxLength = matchLengths[c];
+                int distance = matchDistances[c];
+                int matchBase = base + distanceCost(distance);
+                for (int length = minLength; length <= maxLength; length++) {
+                    int next = pos + length;
+                    int target;
+                    if (!format.nextByteTokens) {
+                        cost = matchBase + lengthCost[length];
+                        target = p + length;
+                    } else if (next < n) {
+                        // 블록 마지막 바이트 0 을 nextByte 로 쓰면 복원 시 버려짐
+                        if (next == n - 1 && data[next] == 0) {
+                            continue;
+                        }
+                        cost = matchBase + lengthCost[length] + literalCost[data[next] & 0xFF];
+                        target = p + length + 1;
+                    } else {
+                        cost = matchBase + lengthCost[length] + literalCost[0];
+                        target = p + length;
+                    }
+                    if (cost < price[target]) {
+                        price[target] = cost;
+                        fromPos[target] = p;
+                        fromLength[target] = length;
+                        fromDistance[target] = distance;
+                    }
+                }
+                minLength = maxLength + 1;
+            }
+        }
+
+        // 끝에서부터 경로 역추적
+        int tokens = 0;
+        int[] path = new int[positions + 1];
+        for (int p = positions; p > 0; p = fromPos[p]) {
+            path[tokens++] = p;
+        }
+
+        LZ77Service.EncodingResult result = new LZ77Service.EncodingResult(Math.max(64, tokens));
+        for (int t = tokens - 1; t >= 0; t--) {
+            int end = path[t];
+            int pos = start + fromPos[end];
+            int length = fromLength[end];
+            if (length == 0) {
+                result.add(0, 0, data[pos]);
+            } else {
+                byte nextByte = (format.nextByteTokens && pos + length < n) ? data[pos + length] : 0;
+                result.add(fromDistance[end], length, nextByte);
+            }
+        }
+        return result;
+    }
+
+    // 토큰 빈도로 허프만 코드 길이를 구해 비용 갱신, 그 코드로 인코딩했을 때의 비트 수 반환
+    private long updateCosts(LZ77Service.EncodingResult result) {
+        int count = result.getCount();
+        int[] offsets = result.getOffsets();
+        int[] lengths = result.getLengths();
+        byte[] nextBytes = result.getNextBytes();
+
+        int[] literalFrequency = new int[286];
+        int[] distanceFrequency = new int[30];
+        for (int i = 0; i < count; i++) {
+            if (lengths[i] > 0) {
+                literalFrequency[LengthTables.LENGTH_EQUAL_CODE_BASE_EXTRABIT[lengths[i]][0]]++;
+                distanceFrequency[DistanceTables.search(offsets[i])[1]]++;
+            }
+            if (lengths[i] == 0 || format.nextByteTokens) {
+                literalFrequency[(nextBytes[i] & 0xFF) ^ format.literalSymbolFlip]++;
+            }
+        }
+        literalFrequency[Header.END_OF_BLOCK]++;
+
+        huffmanService.buildCodeLengths(literalFrequency, MAX_CODE_LENGTH, literalLengths);
+        huffmanService.buildCodeLengths(distanceFrequency, MAX_CODE_LENGTH, distanceLengths);
+
+        // 쓰이지 않은 심볼은 가장 긴 코드보다 1비트 길게 취급
+        int unusedLiteral = unusedCost(literalLengths);
+        int unusedDistance = unusedCost(distanceLengths);
+        for (int value = 0; value < 256; value++) {
+            literalCost[value] = codeLength(literalLengths, value ^ format.literalSymbolFlip, unusedLiteral);
+        }
+        for (int length = MIN_MATCH_LENGTH; length <= MAX_MATCH_LENGTH; length++) {
+            int[] code = LengthTables.LENGTH_EQUAL_CODE_BASE_EXTRABIT[length];
+            lengthCost[length] = codeLength(literalLengths, code[0], unusedLiteral) + code[2];
+        }
+        for (int symbol = 0; symbol < distanceCodeCost.length; symbol++) {
+            distanceCodeCost[symbol] = codeLength(distanceLengths, symbol, unusedDistance);
+        }
+
+        long bits = codeLength(literalLengths, Header.END_OF_BLOCK, unusedLiteral);
+        for (int i = 0; i < count; i++) {
+            if (lengths[i] > 0) {
+                bits += lengthCost[lengths[i]] + distanceCost(offsets[i]);
+            }
+            if (lengths[i] == 0 || format.nextByteTokens) {
+                bits += literalCost[nextBytes[i] & 0xFF];
+            }
+        }
+        return bits;
+    }
+
+    private int unusedCost(byte[] codeLengths) {
+        int max = 0;
+        for (int length : codeLengths) {
+            max = Math.max(max, length);
+        }
+        return Math.min(MAX_CODE_LENGTH, max + 1);
+    }
+
+    private int codeLength(byte[] codeLengths, int symbol, int unused) {
+        int length = codeLengths[symbol];
+        return length > 0 ? length : unused;
+    }
+}
@@ -0,0 +1,8 @@
+package deflate.core.codec.lz77;
+
+public enum ParseStrategy {
+    // 레벨 설정에 따른 탐욕/지연 매칭
+    HEURISTIC,
+    // 매치 후보 전체에 대해 허프만 비트 비용 최단 경로 탐색 (느리지만 가장 작은 출력)
+    OPTIMAL
+}
@@ -0,0 +1,27 @@
+package deflate.core.codec.type;
+
+import deflate.core.codec.header.Header;
+import deflate.core.io.BitOrder;
+
+public enum DeflateFormat {
+    // 기존 형식: MSB 우선 비트, 매치마다 다음 바이트를 붙인 (offset, length, nextByte) 토큰, 리터럴 심볼 = 바이트 ^ 0x80
+    LEGACY(BitOrder.MSB_FIRST, Header.LITERAL_SYMBOL_FLIP, true),
+    // RFC 1951 raw deflate: LSB 우선 비트, 리터럴과 (길이, 거리) 토큰, 리터럴 심볼 = 바이트 값
+    RAW(BitOrder.LSB_FIRST, 0, false),
+    // RFC 1950 zlib 헤더/Adler-32 트레일러로 감싼 raw deflate
+    ZLIB(BitOrder.LSB_FIRST, 0, false),
+    // RFC 1952 gzip 헤더/CRC-32 트레일러로 감싼 raw deflate
+    GZIP(BitOrder.LSB_FIRST, 0, false);
+
+    public final BitOrder bitOrder;
+    // 리터럴 심볼 = (바이트 & 0xFF) ^ literalSymbolFlip
+    public final int literalSymbolFlip;
+    // true 면 매치 토큰 뒤에 항상 리터럴 하나가 따라옴
+    public final boolean nextByteTokens;
+
+    DeflateFormat(BitOrder bitOrder, int literalSymbolFlip, boolean nextByteTokens) {
+        this.bitOrder = bitOrder;
+        this.literalSymbolFlip = literalSymbolFlip;
+        this.nextByteTokens = nextByteTokens;
+    }
+}
@@ -0,0 +1,8 @@
+package deflate.core.io;
+
+public enum BitOrder {
+    // 바이트의 최상위 비트부터 채움, 여러 비트 값은 상위 비트부터 (기존 형식)
+    MSB_FIRST,
+    // 바이트의 최하위 비트부터 채움, 여러 비트 값은 하위 비트부터 (RFC 1951)
+    LSB_FIRST
+}
@@ -0,0 +1,86 @@
+package deflate.core.io;
+
+import deflate.core.metrics.CompressionMetrics;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// 큰 direct 버퍼에 모아 FileChannel 로 기록 - 기존 파일은 덮어씀
+public class ChannelOutputStream extends java.io.OutputStream {
+    private static final int BUFFER_SIZE = 1024 * 1024;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private boolean closed;
+
+    public ChannelOutputStream(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (!buffer.hasRemaining()) {
+            drain();
+        }
+        buffer.put((byte) b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if ((off | len) < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        // 버퍼보다 큰 쓰기는 힙 배열을 감싸 바로 기록
+        if (len >= BUFFER_SIZE) {
+            drain();
+            ByteBuffer src = ByteBuffer.wrap(b, off, len);
+            long start = System.nanoTime();
+            while (src.hasRemaining()) {
+                channel.write(src);
+            }
+            CompressionMetrics.recordIo(len, System.nanoTime() - start);
+            return;
+        }
+        while (len > 0) {
+            if (!buffer.hasRemaining()) {
+                drain();
+            }
+            int chunk = Math.min(len, buffer.remaining());
+            buffer.put(b, off, chunk);
+            off += chunk;
+            len -= chunk;
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        int bytes = buffer.remaining();
+        long start = System.nanoTime();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        CompressionMetrics.recordIo(bytes, System.nanoTime() - start);
+        buffer.clear();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        drain();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            try {
+                drain();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+}
@@ -3,35 +3,112 @@ package deflate.core.io;
 import java.io.IOException;
 
 public class InputStream implements AutoCloseable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     private java.io.InputStream in;
-    private int buffer;
+    private final byte[] bytes;
+    private int position;
+    private int limit;
+    private boolean endOfStream;
+
+    // 비트 누산기 - 하위 bitsInBuffer 비트가 아직 읽지 않은 비트
+    // MSB 우선이면 상위 쪽이 먼저 읽을 비트, LSB 우선이면 비트 0 이 먼저 읽을 비트
+    private long buffer;
     private int bitsInBuffer;
+    // 스트림 끝 이후 peek 을 위해 채워 넣은 0 비트 수
+    private int paddingBits;
+    private final boolean lsbFirst;
 
     public InputStream(java.io.InputStream in) {
+        this(in, BitOrder.MSB_FIRST);
+    }
+
+    public InputStream(java.io.InputStream in, BitOrder bitOrder) {
         this.in = in;
+        this.lsbFirst = bitOrder == BitOrder.LSB_FIRST;
+        this.bytes = new byte[BUFFER_SIZE];
+        this.position = 0;
+        this.limit = 0;
+        this.endOfStream = false;
         this.buffer = 0;
         this.bitsInBuffer = 0;
+        this.paddingBits = 0;
     }
 
-    public int readBit() throws IOException {
-        if (bitsInBuffer == 0) {
-            buffer = in.read();
-            if (buffer == -1) {
-                throw new IOException("End of stream reached");
+    public BitOrder getBitOrder() {
+        return lsbFirst ? BitOrder.LSB_FIRST : BitOrder.MSB_FIRST;
+    }
+
+    // 바이트 버퍼를 다시 채움, 스트림 끝이면 false
+    private boolean fillBuffer() throws IOException {
+        if (endOfStream) {
+            return false;
+        }
+        int read = in.read(bytes, 0, bytes.length);
+        if (read == -1) {
+            endOfStream = true;
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+
+    // 누산기를 numBits 비트 이상 채움 - 바이트 버퍼에 있는 것은 56비트까지 옮기고, 하위 스트림은 모자랄 때만 기다림
+    // 이미 도착한 바이트가 있으면(available) 미리 읽되, 소켓/파이프의 flush 지점에서 뒤 데이터를 기다리지 않음
+    private void refill(int numBits) throws IOException {
+        while (bitsInBuffer <= 56) {
+            if (position == limit) {
+                if (bitsInBuffer >= numBits && (endOfStream || in.available() <= 0)) {
+                    return;
+                }
+                if (!fillBuffer()) {
+                    if (!lsbFirst) {
+                        buffer <<= 8;
+                    }
+                    bitsInBuffer += 8;
+                    paddingBits += 8;
+                    continue;
+                }
+            }
+            if (lsbFirst) {
+                buffer |= (long) (bytes[position++] & 0xFF) << bitsInBuffer;
+            } else {
+                buffer = (buffer << 8) | (bytes[position++] & 0xFF);
             }
-            bitsInBuffer = 8;
+            bitsInBuffer += 8;
         }
+    }
 
-        int bit = (buffer >> (bitsInBuffer - 1)) & 1;
-        bitsInBuffer--;
-        return bit;
+    // 다음 numBits 비트를 소비하지 않고 반환 (최대 32비트)
+    public int peekBits(int numBits) throws IOException {
+        if (bitsInBuffer < numBits) {
+            refill(numBits);
+        }
+        if (lsbFirst) {
+            return (int) (buffer & ((1L << numBits) - 1));
+        }
+        return (int) ((buffer >>> (bitsInBuffer - numBits)) & ((1L << numBits) - 1));
     }
 
-    public int readBits(int numBits) throws IOException {
-        int result = 0;
-        for (int i = 0; i < numBits; i++) {
-            result = (result << 1) | readBit();
+    // peek 한 비트 중 numBits 비트를 소비
+    public void consume(int numBits) throws IOException {
+        if (numBits > bitsInBuffer - paddingBits) {
+            throw new IOException("End of stream reached");
+        }
+        bitsInBuffer -= numBits;
+        if (lsbFirst) {
+            buffer >>>= numBits;
         }
+    }
+
+    public int readBit() throws IOException {
+        return readBits(1);
+    }
+
+    public int readBits(int numBits) throws IOException {
+        int result = peekBits(numBits);
+        consume(numBits);
         return result;
     }
 
@@ -39,15 +116,54 @@ public class InputStream implements AutoCloseable {
         return (byte) readBits(8);
     }
 
+    // 현재 바이트의 남은 비트를 버리고 바이트 경계로 이동
+    public void alignToByte() throws IOException {
+        consume(bitsInBuffer & 7);
+    }
+
     // 지정한 개수만큼의 byte 배열을 읽어서 반환하는 메서드
     public byte[] readBytes(int numBytes) throws IOException {
         byte[] result = new byte[numBytes];
-        for (int i = 0; i < numBytes; i++) {
-            result[i] = readByte();
-        }
+        readBytes(result, 0, numBytes);
         return result;
     }
 
+    // 바이트 경계에 있으면 버퍼에서 그대로 복사, 아니면 누산기를 거쳐 8비트씩 읽음
+    public void readBytes(byte[] dest, int offset, int length) throws IOException {
+        if ((bitsInBuffer & 7) != 0) {
+            for (int i = 0; i < length; i++) {
+                dest[offset + i] = readByte();
+            }
+            return;
+        }
+
+        // 1. 누산기에 남은 바이트 먼저 소비
+        while (length > 0 && bitsInBuffer - paddingBits >= 8) {
+            dest[offset++] = readByte();
+            length--;
+        }
+        if (length == 0) {
+            return;
+        }
+        if (paddingBits > 0) {
+            throw new IOException("End of stream reached");
+        }
+        buffer = 0;
+        bitsInBuffer = 0;
+
+        // 2. 바이트 버퍼에서 대량 복사
+        while (length > 0) {
+            if (position == limit && !fillBuffer()) {
+                throw new IOException("End of stream reached");
+            }
+            int chunk = Math.min(length, limit - position);
+            System.arraycopy(bytes, position, dest, offset, chunk);
+            position += chunk;
+            offset += chunk;
+            length -= chunk;
+        }
+    }
+
     @Override
     public void close() throws IOException {
         in.close();
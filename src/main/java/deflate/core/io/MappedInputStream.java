@@ -0,0 +1,101 @@
+package deflate.core.io;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// 파일을 일정 크기 창 단위로 메모리 매핑해 읽음 - 위치는 long 이라 2GB 를 넘는 파일도 처리
+public class MappedInputStream extends java.io.InputStream {
+    // 한 번에 매핑하는 크기, 매핑 하나는 int 범위로 제한됨
+    private static final long MAP_WINDOW = 64L * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final long size;
+    private final long mapWindow;
+    // 현재 매핑의 파일 내 시작 위치
+    private long windowStart;
+    private MappedByteBuffer window;
+
+    public MappedInputStream(Path path) throws IOException {
+        this(path, MAP_WINDOW);
+    }
+
+    // 창 경계를 작은 파일로 시험할 수 있도록 창 크기를 받음
+    MappedInputStream(Path path, long mapWindow) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.mapWindow = mapWindow;
+        this.windowStart = 0;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    // 지금까지 읽은 바이트 수
+    public long position() {
+        return window == null ? windowStart : windowStart + window.position();
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureWindow()) {
+            return -1;
+        }
+        return window.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if ((off | len) < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) {
+            return 0;
+        }
+        if (!ensureWindow()) {
+            return -1;
+        }
+        int chunk = Math.min(len, window.remaining());
+        window.get(b, off, chunk);
+        return chunk;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = Math.max(0, Math.min(n, size - position()));
+        windowStart = position() + skipped;
+        window = null;
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return (int) Math.min(Integer.MAX_VALUE, size - position());
+    }
+
+    // 현재 매핑을 다 읽었으면 다음 창을 매핑, 파일 끝이면 false
+    private boolean ensureWindow() throws IOException {
+        if (window != null && window.hasRemaining()) {
+            return true;
+        }
+        if (window != null) {
+            windowStart += window.capacity();
+            window = null;
+        }
+        if (windowStart >= size) {
+            return false;
+        }
+        window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, Math.min(mapWindow, size - windowStart));
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        // 매핑 해제는 GC 에 맡김
+        window = null;
+        channel.close();
+    }
+}
@@ -2,39 +2,159 @@ package deflate.core.io;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.Arrays;
 
 public class OutputStream implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     private java.io.OutputStream out;
-    private int currentByte;
-    private int numBitsFilled;
+    private final byte[] bytes;
+    private int position;
+    // 하위 스트림으로 내보낸 바이트 수
+    private long flushedBytes;
+
+    // 비트 누산기 - 하위 bitCount 비트가 아직 내보내지 않은 비트
+    // MSB 우선이면 상위 쪽이 먼저 나갈 비트, LSB 우선이면 비트 0 이 먼저 나갈 비트
+    private long accumulator;
+    private int bitCount;
+    private final boolean lsbFirst;
+    // 다른 스트림에 이어 붙일 조각이면 alignToByte 를 부른 위치(채우기 전 비트 수) - 아니면 null
+    private long[] alignments;
+    private int alignmentCount;
 
     public OutputStream(java.io.OutputStream out) {
+        this(out, BitOrder.MSB_FIRST);
+    }
+
+    public OutputStream(java.io.OutputStream out, BitOrder bitOrder) {
+        this(out, bitOrder, false);
+    }
+
+    // recordAlignments: 조각의 바이트 경계 맞춤은 조각 시작 기준이므로, 이어 붙이는 쪽이 다시 맞출 수 있게 위치를 기록
+    public OutputStream(java.io.OutputStream out, BitOrder bitOrder, boolean recordAlignments) {
         this.out = out;
-        this.currentByte = 0;
-        this.numBitsFilled = 0;
+        this.lsbFirst = bitOrder == BitOrder.LSB_FIRST;
+        this.bytes = new byte[BUFFER_SIZE];
+        this.position = 0;
+        this.flushedBytes = 0;
+        this.accumulator = 0;
+        this.bitCount = 0;
+        this.alignments = recordAlignments ? new long[4] : null;
+        this.alignmentCount = 0;
     }
 
     public void writeBit(int bit) throws IOException {
-        currentByte = (currentByte << 1) | bit;
-        numBitsFilled++;
-        if (numBitsFilled == 8) {
-            out.write(currentByte);
-            numBitsFilled = 0;
-            currentByte = 0;
-        }
+        writeBit(bit, 1);
+    }
+
+    public BitOrder getBitOrder() {
+        return lsbFirst ? BitOrder.LSB_FIRST : BitOrder.MSB_FIRST;
     }
 
+    // value 의 하위 length 비트(최대 64비트)를 기록 - MSB 우선이면 상위 비트부터, LSB 우선이면 하위 비트부터
     public void writeBit(long value, int length) throws IOException {
-        long mask = (1L << (length - 1));
-        for (int i = 0; i < length; i++) {
-            int bit = (int) (value & mask);
-            if (bit == 0) {
-                writeBit(0);
-            } else {
-                writeBit(1);
+        if (length == 0) {
+            return;
+        }
+        if (length < 64) {
+            value &= (1L << length) - 1;
+        }
+        if (lsbFirst) {
+            writeBitLsbFirst(value, length);
+            return;
+        }
+
+        int free = 64 - bitCount;
+        if (length < free) {
+            accumulator = (accumulator << length) | value;
+            bitCount += length;
+            return;
+        }
+
+        // 누산기를 64비트로 채워 통째로 내보내고 나머지 비트를 다시 담음
+        int rest = length - free;
+        long word = bitCount == 0 ? value >>> rest : (accumulator << free) | (value >>> rest);
+        putLong(word);
+        accumulator = rest == 0 ? 0 : value & ((1L << rest) - 1);
+        bitCount = rest;
+    }
+
+    private void writeBitLsbFirst(long value, int length) throws IOException {
+        int free = 64 - bitCount;
+        if (length < free) {
+            accumulator |= value << bitCount;
+            bitCount += length;
+            return;
+        }
+
+        // 누산기를 64비트로 채워 통째로 내보내고 남은 상위 비트를 다시 담음
+        long word = bitCount == 0 ? value : accumulator | (value << bitCount);
+        putLong(word);
+        int rest = length - free;
+        accumulator = rest == 0 ? 0 : value >>> free;
+        bitCount = rest;
+    }
+
+    // 다른 OutputStream 에 기록된 비트열(bitLength 비트)을 그대로 이어 붙임
+    public void writeBits(byte[] src, long bitLength) throws IOException {
+        writeBits(src, 0, bitLength);
+    }
+
+    // recordAlignments 로 기록한 조각을 이어 붙임 - 조각의 정렬 지점마다 이 스트림 기준으로 다시 맞추고
+    // 조각에서 채운 0 비트는 건너뜀, 맞춘 뒤에는 조각과 이 스트림이 모두 바이트 경계라 다음 정렬 지점까지 그대로 복사
+    // 결과는 조각의 내용을 이 위치에서 직접 기록한 것과 같음
+    public void writeBits(byte[] src, long bitLength, long[] alignments) throws IOException {
+        long from = 0;
+        for (long alignment : alignments) {
+            writeBits(src, (int) (from >>> 3), alignment - from);
+            alignToByte();
+            from = (alignment + 7) & ~7L;
+        }
+        writeBits(src, (int) (from >>> 3), bitLength - from);
+    }
+
+    // src[offset] 바이트의 첫 비트부터 bitLength 비트를 이어 붙임
+    public void writeBits(byte[] src, int offset, long bitLength) throws IOException {
+        int fullBytes = Math.toIntExact(bitLength >>> 3);
+        int end = offset + fullBytes;
+        if ((bitCount & 7) == 0) {
+            writeByte(src, offset, fullBytes);
+        } else {
+            int i = offset;
+            for (; i + 8 <= end; i += 8) {
+                writeBit(getLong(src, i), 64);
+            }
+            for (; i < end; i++) {
+                writeByte(src[i]);
+            }
+        }
+
+        int restBits = (int) (bitLength & 7);
+        if (restBits > 0) {
+            int last = src[end] & 0xFF;
+            writeBit(lsbFirst ? last : last >>> (8 - restBits), restBits);
+        }
+    }
+
+    // 현재 바이트의 남은 비트를 0 으로 채워 바이트 경계로 이동
+    public void alignToByte() throws IOException {
+        if (alignments != null) {
+            if (alignmentCount == alignments.length) {
+                alignments = Arrays.copyOf(alignments, alignmentCount * 2);
             }
-            mask >>>= 1;
+            alignments[alignmentCount++] = getBitLength();
         }
+        writeBit(0, (8 - (bitCount & 7)) & 7);
+    }
+
+    // 기록한 alignToByte 위치 (오름차순), 기록하지 않는 스트림이면 빈 배열
+    public long[] getAlignments() {
+        return alignments == null ? new long[0] : Arrays.copyOf(alignments, alignmentCount);
+    }
+
+    // 지금까지 기록한 전체 비트 수
+    public long getBitLength() {
+        return (flushedBytes + position) * 8 + bitCount;
     }
 
     public void writeByte(long b) throws IOException {
@@ -42,21 +162,114 @@ public class OutputStream implements Closeable {
     }
 
     public void writeByte(byte[] bytes) throws IOException {
-        for (byte byt : bytes) {
-            writeByte(byt);
+        writeByte(bytes, 0, bytes.length);
+    }
+
+    // 바이트 경계면 누산기를 비우고 버퍼로 바로 복사
+    public void writeByte(byte[] src, int offset, int length) throws IOException {
+        if ((bitCount & 7) != 0) {
+            for (int i = 0; i < length; i++) {
+                writeByte(src[offset + i]);
+            }
+            return;
         }
+
+        drainWholeBytes();
+        while (length > 0) {
+            if (position == bytes.length) {
+                flushBuffer();
+            }
+            int chunk = Math.min(length, bytes.length - position);
+            System.arraycopy(src, offset, bytes, position, chunk);
+            position += chunk;
+            offset += chunk;
+            length -= chunk;
+        }
+    }
+
+    // 바이트 8개를 기록 순서대로 먼저 나갈 비트가 먼저 오도록 묶음
+    private long getLong(byte[] src, int offset) {
+        long word = 0;
+        for (int i = 0; i < 8; i++) {
+            if (lsbFirst) {
+                word |= (long) (src[offset + i] & 0xFF) << (8 * i);
+            } else {
+                word = (word << 8) | (src[offset + i] & 0xFF);
+            }
+        }
+        return word;
     }
 
-    private void flush() throws IOException {
-        if (numBitsFilled > 0) {
-            currentByte <<= (8 - numBitsFilled);
-            out.write(currentByte);
+    private void putLong(long word) throws IOException {
+        if (position + 8 > bytes.length) {
+            flushBuffer();
+        }
+        if (lsbFirst) {
+            for (int i = 0; i < 8; i++) {
+                bytes[position + i] = (byte) (word >>> (8 * i));
+            }
+            position += 8;
+            return;
+        }
+        bytes[position] = (byte) (word >>> 56);
+        bytes[position + 1] = (byte) (word >>> 48);
+        bytes[position + 2] = (byte) (word >>> 40);
+        bytes[position + 3] = (byte) (word >>> 32);
+        bytes[position + 4] = (byte) (word >>> 24);
+        bytes[position + 5] = (byte) (word >>> 16);
+        bytes[position + 6] = (byte) (word >>> 8);
+        bytes[position + 7] = (byte) word;
+        position += 8;
+    }
+
+    // 누산기에 쌓인 온전한 바이트를 버퍼로 옮김
+    private void drainWholeBytes() throws IOException {
+        while (bitCount >= 8) {
+            if (position == bytes.length) {
+                flushBuffer();
+            }
+            bitCount -= 8;
+            if (lsbFirst) {
+                bytes[position++] = (byte) accumulator;
+                accumulator >>>= 8;
+            } else {
+                bytes[position++] = (byte) (accumulator >>> bitCount);
+            }
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (position > 0) {
+            out.write(bytes, 0, position);
+            flushedBytes += position;
+            position = 0;
+        }
+    }
+
+    // 온전한 바이트까지만 하위 스트림으로 내보냄, 바이트 경계에 못 미친 비트는 누산기에 남음
+    public void flush() throws IOException {
+        drainWholeBytes();
+        flushBuffer();
+        out.flush();
+    }
+
+    // 남은 비트를 0 으로 채워 모두 내보냄 - 스트림 끝에서만 호출
+    public void finish() throws IOException {
+        drainWholeBytes();
+        if (bitCount > 0) {
+            if (position == bytes.length) {
+                flushBuffer();
+            }
+            bytes[position++] = lsbFirst ? (byte) accumulator : (byte) (accumulator << (8 - bitCount));
+            accumulator = 0;
+            bitCount = 0;
         }
+        flushBuffer();
         out.flush();
     }
 
     public void close() throws IOException {
-        flush();
+        finish();
         out.close();
     }
 }
@@ -0,0 +1,140 @@
+package deflate.core.io;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// 이중 버퍼 선읽기 - 호출 스레드가 한 버퍼를 읽는 동안 전용 스레드가 다음 조각을 다른 버퍼에 채움
+// 네트워크 파일 시스템처럼 읽기 지연이 큰 입력에서 압축 스레드가 I/O 를 기다리지 않도록 함
+public class ReadAheadInputStream extends java.io.InputStream {
+    public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+
+    private final java.io.InputStream in;
+    private final ExecutorService reader;
+    // 호출 스레드가 읽는 버퍼 [position, limit)
+    private byte[] current;
+    private int position;
+    private int limit;
+    // 전용 스레드가 채우는 버퍼, next 가 끝나기 전에는 건드리지 않음
+    private byte[] spare;
+    private Future<Integer> next;
+    private boolean endOfStream;
+    private boolean closed;
+
+    public ReadAheadInputStream(java.io.InputStream in) {
+        this(in, DEFAULT_CHUNK_SIZE);
+    }
+
+    public ReadAheadInputStream(java.io.InputStream in, int chunkSize) {
+        this.in = in;
+        this.current = new byte[chunkSize];
+        this.spare = new byte[chunkSize];
+        this.reader = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "deflate-read-ahead");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.next = submitFill(spare);
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureAvailable()) {
+            return -1;
+        }
+        return current[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if ((off | len) < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) {
+            return 0;
+        }
+        if (!ensureAvailable()) {
+            return -1;
+        }
+        int chunk = Math.min(len, limit - position);
+        System.arraycopy(current, position, b, off, chunk);
+        position += chunk;
+        return chunk;
+    }
+
+    @Override
+    public int available() throws IOException {
+        ensureOpen();
+        return limit - position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            next.cancel(true);
+            reader.shutdownNow();
+            in.close();
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    // 현재 버퍼를 다 읽었으면 미리 읽은 버퍼로 바꾸고 다음 조각 읽기를 시작, 입력 끝이면 false
+    private boolean ensureAvailable() throws IOException {
+        ensureOpen();
+        if (position < limit) {
+            return true;
+        }
+        if (endOfStream) {
+            return false;
+        }
+        int filled = await(next);
+        if (filled == -1) {
+            endOfStream = true;
+            return false;
+        }
+        byte[] drained = current;
+        current = spare;
+        spare = drained;
+        position = 0;
+        limit = filled;
+        next = submitFill(spare);
+        return true;
+    }
+
+    // 버퍼가 찰 때까지 읽음 - 큰 단위로 요청해야 원격 저장소의 왕복 횟수가 줄어듦
+    private Future<Integer> submitFill(byte[] buffer) {
+        return reader.submit(() -> {
+            int filled = 0;
+            while (filled < buffer.length) {
+                int read = in.read(buffer, filled, buffer.length - filled);
+                if (read == -1) {
+                    break;
+                }
+                filled += read;
+            }
+            return filled == 0 ? -1 : filled;
+        });
+    }
+
+    private static int await(Future<Integer> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while reading ahead", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Read-ahead failed", e.getCause());
+        }
+    }
+}
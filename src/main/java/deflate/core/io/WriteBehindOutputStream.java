@@ -0,0 +1,128 @@
+package deflate.core.io;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// 이중 버퍼 뒤쓰기 - 가득 찬 버퍼는 전용 스레드가 하위 스트림에 쓰고, 호출 스레드는 다른 버퍼를 채움
+// 앞선 쓰기가 끝나지 않았는데 버퍼가 또 차면 그때만 기다림
+public class WriteBehindOutputStream extends java.io.OutputStream {
+    public static final int DEFAULT_BUFFER_SIZE = 1024 * 1024;
+
+    private final java.io.OutputStream out;
+    private final ExecutorService writer;
+    // 호출 스레드가 채우는 버퍼
+    private byte[] buffer;
+    private int count;
+    // 전용 스레드가 쓰는 중인 버퍼, pending 이 끝나기 전에는 건드리지 않음
+    private byte[] spare;
+    private Future<?> pending;
+    private boolean closed;
+
+    public WriteBehindOutputStream(java.io.OutputStream out) {
+        this(out, DEFAULT_BUFFER_SIZE);
+    }
+
+    public WriteBehindOutputStream(java.io.OutputStream out, int bufferSize) {
+        this.out = out;
+        this.buffer = new byte[bufferSize];
+        this.spare = new byte[bufferSize];
+        this.writer = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "deflate-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        if (count == buffer.length) {
+            handOff();
+        }
+        buffer[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        if ((off | len) < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        while (len > 0) {
+            if (count == buffer.length) {
+                handOff();
+            }
+            int chunk = Math.min(len, buffer.length - count);
+            System.arraycopy(b, off, buffer, count, chunk);
+            count += chunk;
+            off += chunk;
+            len -= chunk;
+        }
+    }
+
+    // 모아 둔 바이트와 진행 중인 쓰기를 모두 하위 스트림으로 내보냄
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        if (count > 0) {
+            handOff();
+        }
+        awaitPending();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            try {
+                flush();
+            } finally {
+                closed = true;
+                writer.shutdown();
+                out.close();
+            }
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    // 채운 버퍼를 전용 스레드에 넘기고 쓰기가 끝난 버퍼로 바꿈
+    private void handOff() throws IOException {
+        awaitPending();
+        byte[] filled = buffer;
+        int length = count;
+        pending = writer.submit(() -> {
+            out.write(filled, 0, length);
+            return null;
+        });
+        buffer = spare;
+        spare = filled;
+        count = 0;
+    }
+
+    private void awaitPending() throws IOException {
+        if (pending == null) {
+            return;
+        }
+        try {
+            pending.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while writing behind", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Write-behind failed", e.getCause());
+        } finally {
+            pending = null;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package deflate.core.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+// 입력 블록 하나를 압축해 기록하기까지 - 이벤트 길이가 블록 전체 시간, 필드는 단계별 시간
+@Name("deflate.BlockCompressed")
+@Label("Deflate Block Compressed")
+@Category({"Deflate", "Compression"})
+@Description("One input block compressed and written to the bit stream")
+final class BlockCompressedEvent extends jdk.jfr.Event {
+
+    @Label("Stored")
+    boolean stored;
+
+    @Label("Input Size")
+    @DataAmount
+    long bytesIn;
+
+    @Label("Output Size")
+    @DataAmount
+    long bytesOut;
+
+    @Label("Sub-blocks")
+    int subBlocks;
+
+    @Label("Literals")
+    long literals;
+
+    @Label("Matches")
+    long matches;
+
+    @Label("Chain Steps")
+    long chainSteps;
+
+    @Label("LZ77 Time")
+    @Timespan
+    long lz77Nanos;
+
+    @Label("Huffman Time")
+    @Timespan
+    long huffmanNanos;
+
+    @Label("Write Time")
+    @Timespan
+    long writeNanos;
+}
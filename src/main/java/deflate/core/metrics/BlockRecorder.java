@@ -0,0 +1,100 @@
+package deflate.core.metrics;
+
+import deflate.core.codec.lz77.LZ77Service;
+import deflate.core.codec.type.DeflateFormat;
+import deflate.core.table.DistanceTables;
+import deflate.core.table.LengthTables;
+
+// 입력 블록 하나의 단계별 시간과 토큰 통계를 모아 finish 에서 한 번에 반영
+// 한 번에 한 스레드에서만 사용, 단계 순서는 lz77Done -> huffmanDone -> finish (저장 블록은 finish 만)
+public final class BlockRecorder {
+    private final CompressionMetrics metrics;
+    private final BlockCompressedEvent event = new BlockCompressedEvent();
+    private final boolean enabled;
+    private long mark;
+
+    boolean stored;
+    long bytesIn;
+    long bytesOut;
+    int subBlocks;
+    long literals;
+    long matches;
+    long chainSteps;
+    long lz77Nanos;
+    long huffmanNanos;
+    long writeNanos;
+    final int[] matchLengths = new int[29];
+    final int[] distances = new int[30];
+
+    BlockRecorder(CompressionMetrics metrics) {
+        this.metrics = metrics;
+        this.enabled = metrics.isEnabled();
+        event.begin();
+        mark = System.nanoTime();
+    }
+
+    // LZ77 파싱 직후 - 토큰 통계는 통계나 JFR 이벤트가 켜져 있을 때만 셈
+    public void lz77Done(LZ77Service.EncodingResult result, long chainSteps, DeflateFormat format) {
+        lz77Nanos = lap();
+        this.chainSteps = chainSteps;
+        if (!enabled && !event.isEnabled()) {
+            return;
+        }
+        int[] offsets = result.getOffsets();
+        int[] lengths = result.getLengths();
+        for (int i = 0; i < result.getCount(); i++) {
+            if (lengths[i] != 0) {
+                matches++;
+                matchLengths[LengthTables.LENGTH_EQUAL_CODE_BASE_EXTRABIT[lengths[i]][0] - 257]++;
+                distances[DistanceTables.search(offsets[i])[1]]++;
+                if (format.nextByteTokens) {
+                    literals++;
+                }
+            } else {
+                literals++;
+            }
+        }
+    }
+
+    // 파이프라인의 다음 단계가 블록을 넘겨받은 직후 - 단계 사이에서 기다린 시간은 어느 단계에도 넣지 않음
+    public void resume() {
+        mark = System.nanoTime();
+    }
+
+    // 블록 분할과 허프만 코드 생성 직후
+    public void huffmanDone() {
+        huffmanNanos = lap();
+    }
+
+    // 비트열 기록 직후 - bitsOut 은 이 블록이 쓴 비트 수
+    public void finish(boolean stored, long bytesIn, long bitsOut, int subBlocks) {
+        writeNanos = lap();
+        this.stored = stored;
+        this.bytesIn = bytesIn;
+        this.bytesOut = (bitsOut + 7) >>> 3;
+        this.subBlocks = subBlocks;
+        if (enabled) {
+            metrics.recordBlock(this);
+        }
+        if (event.shouldCommit()) {
+            event.stored = stored;
+            event.bytesIn = bytesIn;
+            event.bytesOut = this.bytesOut;
+            event.subBlocks = subBlocks;
+            event.literals = literals;
+            event.matches = matches;
+            event.chainSteps = chainSteps;
+            event.lz77Nanos = lz77Nanos;
+            event.huffmanNanos = huffmanNanos;
+            event.writeNanos = writeNanos;
+            event.commit();
+        }
+    }
+
+    private long lap() {
+        long now = System.nanoTime();
+        long elapsed = now - mark;
+        mark = now;
+        return elapsed;
+    }
+}
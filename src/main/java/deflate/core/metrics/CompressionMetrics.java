@@ -0,0 +1,220 @@
+package deflate.core.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+// 압축 단계별 누적 통계 - 프로세스 전체에서 하나, 블록이 끝날 때 한 번에 반영하므로 토큰마다 드는 비용은 없음
+// 매치 길이 히스토그램은 길이 코드 (257~285 -> 0~28), 거리 히스토그램은 거리 코드 (0~29)
+// 지연 히스토그램은 나노초의 2 의 거듭제곱 구간 (Histogram.log2Bucket)
+public final class CompressionMetrics implements CompressionMetricsMXBean {
+    public static final String OBJECT_NAME = "deflate:type=CompressionMetrics";
+
+    private static final CompressionMetrics INSTANCE = new CompressionMetrics();
+    private static final int LATENCY_BUCKETS = 64;
+
+    private volatile boolean enabled = !Boolean.getBoolean("deflate.metrics.disabled");
+
+    private final LongAdder blocks = new LongAdder();
+    private final LongAdder storedBlocks = new LongAdder();
+    private final LongAdder bytesIn = new LongAdder();
+    private final LongAdder bytesOut = new LongAdder();
+    private final LongAdder literals = new LongAdder();
+    private final LongAdder matches = new LongAdder();
+    private final LongAdder chainSteps = new LongAdder();
+    private final LongAdder lz77Nanos = new LongAdder();
+    private final LongAdder huffmanNanos = new LongAdder();
+    private final LongAdder writeNanos = new LongAdder();
+    private final LongAdder ioNanos = new LongAdder();
+    private final LongAdder ioBytes = new LongAdder();
+
+    private final Histogram matchLengths = new Histogram(29);
+    private final Histogram distances = new Histogram(30);
+    private final Histogram blockLatency = new Histogram(LATENCY_BUCKETS);
+    private final Histogram lz77Latency = new Histogram(LATENCY_BUCKETS);
+    private final Histogram huffmanLatency = new Histogram(LATENCY_BUCKETS);
+    private final Histogram writeLatency = new Histogram(LATENCY_BUCKETS);
+    private final Histogram ioLatency = new Histogram(LATENCY_BUCKETS);
+
+    private CompressionMetrics() {
+    }
+
+    public static CompressionMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    // 플랫폼 MBean 서버에 OBJECT_NAME 으로 등록, 이미 등록되어 있으면 무시
+    public static void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(INSTANCE, name);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register " + OBJECT_NAME, e);
+        }
+    }
+
+    // 블록 압축 시작 - 통계가 꺼져 있어도 JFR 이벤트는 기록될 수 있음
+    public static BlockRecorder startBlock() {
+        return new BlockRecorder(INSTANCE);
+    }
+
+    // 하위 채널에 실제로 기록한 시간과 크기
+    public static void recordIo(long bytes, long nanos) {
+        CompressionMetrics metrics = INSTANCE;
+        if (metrics.enabled) {
+            metrics.ioBytes.add(bytes);
+            metrics.ioNanos.add(nanos);
+            metrics.ioLatency.record(Histogram.log2Bucket(nanos));
+        }
+    }
+
+    void recordBlock(BlockRecorder block) {
+        blocks.increment();
+        if (block.stored) {
+            storedBlocks.increment();
+        }
+        bytesIn.add(block.bytesIn);
+        bytesOut.add(block.bytesOut);
+        literals.add(block.literals);
+        matches.add(block.matches);
+        chainSteps.add(block.chainSteps);
+        lz77Nanos.add(block.lz77Nanos);
+        huffmanNanos.add(block.huffmanNanos);
+        writeNanos.add(block.writeNanos);
+
+        for (int i = 0; i < block.matchLengths.length; i++) {
+            matchLengths.add(i, block.matchLengths[i]);
+        }
+        for (int i = 0; i < block.distances.length; i++) {
+            distances.add(i, block.distances[i]);
+        }
+        blockLatency.record(Histogram.log2Bucket(block.lz77Nanos + block.huffmanNanos + block.writeNanos));
+        if (!block.stored) {
+            lz77Latency.record(Histogram.log2Bucket(block.lz77Nanos));
+            huffmanLatency.record(Histogram.log2Bucket(block.huffmanNanos));
+        }
+        writeLatency.record(Histogram.log2Bucket(block.writeNanos));
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void reset() {
+        for (LongAdder counter : new LongAdder[]{blocks, storedBlocks, bytesIn, bytesOut, literals, matches,
+                chainSteps, lz77Nanos, huffmanNanos, writeNanos, ioNanos, ioBytes}) {
+            counter.reset();
+        }
+        for (Histogram histogram : new Histogram[]{matchLengths, distances, blockLatency, lz77Latency,
+                huffmanLatency, writeLatency, ioLatency}) {
+            histogram.reset();
+        }
+    }
+
+    @Override
+    public long getBlocks() {
+        return blocks.sum();
+    }
+
+    @Override
+    public long getStoredBlocks() {
+        return storedBlocks.sum();
+    }
+
+    @Override
+    public long getBytesIn() {
+        return bytesIn.sum();
+    }
+
+    @Override
+    public long getBytesOut() {
+        return bytesOut.sum();
+    }
+
+    @Override
+    public long getLiteralCount() {
+        return literals.sum();
+    }
+
+    @Override
+    public long getMatchCount() {
+        return matches.sum();
+    }
+
+    @Override
+    public long getChainSteps() {
+        return chainSteps.sum();
+    }
+
+    @Override
+    public long getLz77Nanos() {
+        return lz77Nanos.sum();
+    }
+
+    @Override
+    public long getHuffmanNanos() {
+        return huffmanNanos.sum();
+    }
+
+    @Override
+    public long getWriteNanos() {
+        return writeNanos.sum();
+    }
+
+    @Override
+    public long getIoNanos() {
+        return ioNanos.sum();
+    }
+
+    @Override
+    public long getIoBytes() {
+        return ioBytes.sum();
+    }
+
+    @Override
+    public long[] getMatchLengthHistogram() {
+        return matchLengths.snapshot();
+    }
+
+    @Override
+    public long[] getDistanceHistogram() {
+        return distances.snapshot();
+    }
+
+    @Override
+    public long[] getBlockLatencyHistogram() {
+        return blockLatency.snapshot();
+    }
+
+    @Override
+    public long[] getLz77LatencyHistogram() {
+        return lz77Latency.snapshot();
+    }
+
+    @Override
+    public long[] getHuffmanLatencyHistogram() {
+        return huffmanLatency.snapshot();
+    }
+
+    @Override
+    public long[] getWriteLatencyHistogram() {
+        return writeLatency.snapshot();
+    }
+
+    @Override
+    public long[] getIoLatencyHistogram() {
+        return ioLatency.snapshot();
+    }
+}
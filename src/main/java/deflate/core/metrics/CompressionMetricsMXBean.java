@@ -0,0 +1,49 @@
+package deflate.core.metrics;
+
+// JMX 로 노출하는 압축 통계 - 히스토그램 배열의 의미는 CompressionMetrics 참고
+public interface CompressionMetricsMXBean {
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    void reset();
+
+    long getBlocks();
+
+    long getStoredBlocks();
+
+    long getBytesIn();
+
+    long getBytesOut();
+
+    long getLiteralCount();
+
+    long getMatchCount();
+
+    long getChainSteps();
+
+    long getLz77Nanos();
+
+    long getHuffmanNanos();
+
+    long getWriteNanos();
+
+    long getIoNanos();
+
+    long getIoBytes();
+
+    long[] getMatchLengthHistogram();
+
+    long[] getDistanceHistogram();
+
+    long[] getBlockLatencyHistogram();
+
+    long[] getLz77LatencyHistogram();
+
+    long[] getHuffmanLatencyHistogram();
+
+    long[] getWriteLatencyHistogram();
+
+    long[] getIoLatencyHistogram();
+}
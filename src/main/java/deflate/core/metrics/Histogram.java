@@ -0,0 +1,41 @@
+package deflate.core.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// 구간별 누적 횟수 - 여러 스레드에서 동시에 기록 가능, 범위를 넘는 구간은 마지막 칸에 합산
+public final class Histogram {
+    private final AtomicLongArray counts;
+
+    public Histogram(int buckets) {
+        this.counts = new AtomicLongArray(buckets);
+    }
+
+    public void record(int bucket) {
+        add(bucket, 1);
+    }
+
+    public void add(int bucket, long count) {
+        if (count != 0) {
+            counts.addAndGet(Math.min(bucket, counts.length() - 1), count);
+        }
+    }
+
+    public long[] snapshot() {
+        long[] snapshot = new long[counts.length()];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = counts.get(i);
+        }
+        return snapshot;
+    }
+
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+    }
+
+    // 0 -> 0, 1 -> 1, 2~3 -> 2, 4~7 -> 3 ... (2 의 거듭제곱 구간)
+    public static int log2Bucket(long value) {
+        return value <= 0 ? 0 : 64 - Long.numberOfLeadingZeros(value);
+    }
+}
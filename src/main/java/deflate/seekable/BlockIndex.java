@@ -0,0 +1,167 @@
+package deflate.seekable;
+
+import deflate.core.codec.type.DeflateFormat;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+// 파일 끝의 블록 색인 - 블록마다 (압축 오프셋, 압축 길이, 원본 오프셋, 원본 길이)
+// [엔트리 * n][n(4)][블록 크기(4)][형식(4)][MAGIC(4)], 모두 big-endian
+public final class BlockIndex {
+    static final int MAGIC = 0x44534B31; // "DSK1"
+    static final int ENTRY_SIZE = 8 + 4 + 8 + 4;
+    static final int TRAILER_SIZE = 16;
+
+    private final DeflateFormat format;
+    private final int blockSize;
+    private int count;
+    private long[] compressedOffsets = new long[16];
+    private int[] compressedLengths = new int[16];
+    private long[] uncompressedOffsets = new long[16];
+    private int[] uncompressedLengths = new int[16];
+
+    BlockIndex(DeflateFormat format, int blockSize) {
+        this.format = format;
+        this.blockSize = blockSize;
+    }
+
+    void add(long compressedOffset, int compressedLength, long uncompressedOffset, int uncompressedLength) {
+        if (count == compressedOffsets.length) {
+            int capacity = count * 2;
+            compressedOffsets = Arrays.copyOf(compressedOffsets, capacity);
+            compressedLengths = Arrays.copyOf(compressedLengths, capacity);
+            uncompressedOffsets = Arrays.copyOf(uncompressedOffsets, capacity);
+            uncompressedLengths = Arrays.copyOf(uncompressedLengths, capacity);
+        }
+        compressedOffsets[count] = compressedOffset;
+        compressedLengths[count] = compressedLength;
+        uncompressedOffsets[count] = uncompressedOffset;
+        uncompressedLengths[count] = uncompressedLength;
+        count++;
+    }
+
+    public DeflateFormat getFormat() {
+        return format;
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getCompressedOffset(int block) {
+        return compressedOffsets[block];
+    }
+
+    public int getCompressedLength(int block) {
+        return compressedLengths[block];
+    }
+
+    public long getUncompressedOffset(int block) {
+        return uncompressedOffsets[block];
+    }
+
+    public int getUncompressedLength(int block) {
+        return uncompressedLengths[block];
+    }
+
+    // 색인 앞까지의 압축 데이터 크기
+    public long getCompressedSize() {
+        return count == 0 ? 0 : compressedOffsets[count - 1] + compressedLengths[count - 1];
+    }
+
+    // 전체 원본 크기
+    public long getUncompressedSize() {
+        return count == 0 ? 0 : uncompressedOffsets[count - 1] + uncompressedLengths[count - 1];
+    }
+
+    // position 을 포함하는 블록 번호, 범위 밖이면 -1
+    public int find(long position) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (position < uncompressedOffsets[mid]) {
+                high = mid - 1;
+            } else if (position >= uncompressedOffsets[mid] + uncompressedLengths[mid]) {
+                low = mid + 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(count * ENTRY_SIZE + TRAILER_SIZE);
+        for (int i = 0; i < count; i++) {
+            buffer.putLong(compressedOffsets[i]);
+            buffer.putInt(compressedLengths[i]);
+            buffer.putLong(uncompressedOffsets[i]);
+            buffer.putInt(uncompressedLengths[i]);
+        }
+        buffer.putInt(count);
+        buffer.putInt(blockSize);
+        buffer.putInt(format.ordinal());
+        buffer.putInt(MAGIC);
+        return buffer.array();
+    }
+
+    // 파일 끝에서 트레일러와 엔트리를 읽고 블록이 서로 이어지는지 검증
+    static BlockIndex read(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size < TRAILER_SIZE) {
+            throw new IOException("Not a seekable deflate file: too short");
+        }
+        ByteBuffer trailer = readFully(channel, size - TRAILER_SIZE, TRAILER_SIZE);
+        int count = trailer.getInt();
+        int blockSize = trailer.getInt();
+        int format = trailer.getInt();
+        if (trailer.getInt() != MAGIC) {
+            throw new IOException("Not a seekable deflate file: bad magic");
+        }
+        if (count < 0 || format < 0 || format >= DeflateFormat.values().length
+                || (long) count * ENTRY_SIZE > size - TRAILER_SIZE) {
+            throw new IOException("Corrupt block index trailer");
+        }
+
+        long indexStart = size - TRAILER_SIZE - (long) count * ENTRY_SIZE;
+        ByteBuffer entries = readFully(channel, indexStart, count * ENTRY_SIZE);
+        BlockIndex index = new BlockIndex(DeflateFormat.values()[format], blockSize);
+        long expectedCompressed = 0;
+        long expectedUncompressed = 0;
+        for (int i = 0; i < count; i++) {
+            long compressedOffset = entries.getLong();
+            int compressedLength = entries.getInt();
+            long uncompressedOffset = entries.getLong();
+            int uncompressedLength = entries.getInt();
+            if (compressedOffset != expectedCompressed || uncompressedOffset != expectedUncompressed
+                    || compressedLength < 0 || uncompressedLength < 0) {
+                throw new IOException("Corrupt block index entry " + i);
+            }
+            expectedCompressed += compressedLength;
+            expectedUncompressed += uncompressedLength;
+            index.add(compressedOffset, compressedLength, uncompressedOffset, uncompressedLength);
+        }
+        if (expectedCompressed != indexStart) {
+            throw new IOException("Block index does not match file size");
+        }
+        return index;
+    }
+
+    static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of file");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+}
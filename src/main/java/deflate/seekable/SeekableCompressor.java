@@ -0,0 +1,128 @@
+package deflate.seekable;
+
+import deflate.DeflateOutputStream;
+import deflate.ExecutionMode;
+import deflate.core.codec.lz77.CompressionLevel;
+import deflate.core.codec.lz77.MatchFinderType;
+import deflate.core.codec.lz77.ParseStrategy;
+import deflate.core.codec.type.DeflateFormat;
+import deflate.core.io.ChannelOutputStream;
+import deflate.core.io.MappedInputStream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+// 원본을 blockSize 단위의 독립 스트림으로 압축하고 끝에 블록 색인을 붙임
+// 각 블록은 이전 블록을 참조하지 않으므로 색인만으로 임의 위치를 바로 복원할 수 있음
+public class SeekableCompressor {
+    public static final int DEFAULT_BLOCK_SIZE = 1024 * 1024;
+
+    private final int level;
+    private final DeflateFormat format;
+    private final MatchFinderType matchFinder;
+    private final int blockSize;
+    // null 이면 순차 압축, 지정하면 블록 단위 병렬 압축 (풀 종료는 호출자 책임)
+    private final ExecutorService executor;
+    private final int parallelism;
+
+    public SeekableCompressor() {
+        this(CompressionLevel.DEFAULT.ordinal() + 1, DeflateFormat.RAW, DEFAULT_BLOCK_SIZE);
+    }
+
+    // blockSize 가 작을수록 임의 읽기가 빠르고 압축률은 떨어짐
+    public SeekableCompressor(int level, DeflateFormat format, int blockSize) {
+        this(level, format, blockSize, null, 1);
+    }
+
+    public SeekableCompressor(int level, DeflateFormat format, int blockSize, ExecutorService executor,
+                              int parallelism) {
+        this(level, format, CompressionLevel.of(level).matchFinder, blockSize, executor, parallelism);
+    }
+
+    public SeekableCompressor(int level, DeflateFormat format, MatchFinderType matchFinder, int blockSize,
+                              ExecutorService executor, int parallelism) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("blockSize must be positive: " + blockSize);
+        }
+        this.level = level;
+        this.format = format;
+        this.matchFinder = matchFinder;
+        this.blockSize = blockSize;
+        this.executor = executor;
+        this.parallelism = parallelism;
+    }
+
+    public void compress(String inputFile, String outputFile) throws IOException {
+        Deque<Future<CompressedBlock>> pendingBlocks = new ArrayDeque<>();
+        int maxPendingBlocks = Math.max(1, parallelism) * 2;
+        try (MappedInputStream in = new MappedInputStream(Paths.get(inputFile));
+             ChannelOutputStream out = new ChannelOutputStream(Paths.get(outputFile))) {
+            BlockIndex index = new BlockIndex(format, blockSize);
+            byte[] block;
+            while ((block = in.readNBytes(blockSize)).length > 0) {
+                if (executor == null) {
+                    writeBlock(compressBlock(block), index, out);
+                    continue;
+                }
+                byte[] data = block;
+                pendingBlocks.add(executor.submit(() -> compressBlock(data)));
+                if (pendingBlocks.size() >= maxPendingBlocks) {
+                    writeBlock(await(pendingBlocks.poll()), index, out);
+                }
+            }
+            while (!pendingBlocks.isEmpty()) {
+                writeBlock(await(pendingBlocks.poll()), index, out);
+            }
+            out.write(index.toBytes());
+        } finally {
+            for (Future<CompressedBlock> pendingBlock : pendingBlocks) {
+                pendingBlock.cancel(true);
+            }
+        }
+    }
+
+    // 블록마다 새 스트림 - 이전 블록의 윈도우를 참조하지 않고, 바이트 경계에서 끝남
+    private CompressedBlock compressBlock(byte[] block) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(block.length / 2 + 64);
+        try (DeflateOutputStream deflater = new DeflateOutputStream(bytes, level, format, ParseStrategy.HEURISTIC,
+                matchFinder, null, 1, ExecutionMode.BLOCK_PARALLEL)) {
+            deflater.write(block);
+        }
+        return new CompressedBlock(bytes.toByteArray(), block.length);
+    }
+
+    // 입력 순서대로 기록하며 색인에 위치 추가
+    private static void writeBlock(CompressedBlock block, BlockIndex index, ChannelOutputStream out)
+            throws IOException {
+        index.add(index.getCompressedSize(), block.bytes.length, index.getUncompressedSize(), block.length);
+        out.write(block.bytes);
+    }
+
+    private static CompressedBlock await(Future<CompressedBlock> pendingBlock) throws IOException {
+        try {
+            return pendingBlock.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while compressing blocks", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Block compression failed", e.getCause());
+        }
+    }
+
+    private static final class CompressedBlock {
+        private final byte[] bytes;
+        // 원본 길이
+        private final int length;
+
+        private CompressedBlock(byte[] bytes, int length) {
+            this.bytes = bytes;
+            this.length = length;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package deflate.seekable;
+
+import deflate.InflateInputStream;
+import deflate.core.io.ChannelOutputStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+// SeekableCompressor 로 만든 파일에서 원본의 임의 범위를 읽음
+// 필요한 블록만 풀고, 최근에 푼 블록은 LRU 캐시에 보관 - 여러 스레드에서 동시에 읽어도 됨
+public class SeekableDecompressor implements Closeable {
+    public static final int DEFAULT_CACHE_BLOCKS = 16;
+
+    private final FileChannel channel;
+    private final BlockIndex index;
+    // 블록 번호 -> 복원한 블록, 접근 순서로 정렬해 가장 오래 안 쓴 블록부터 버림
+    private final Map<Integer, byte[]> cache;
+
+    public SeekableDecompressor(String inputFile) throws IOException {
+        this(inputFile, DEFAULT_CACHE_BLOCKS);
+    }
+
+    public SeekableDecompressor(String inputFile, int cacheBlocks) throws IOException {
+        this.channel = FileChannel.open(Paths.get(inputFile), StandardOpenOption.READ);
+        try {
+            this.index = BlockIndex.read(channel);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        this.cache = new LinkedHashMap<Integer, byte[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, byte[]> eldest) {
+                return size() > cacheBlocks;
+            }
+        };
+    }
+
+    // 원본 전체 크기
+    public long size() {
+        return index.getUncompressedSize();
+    }
+
+    public BlockIndex getIndex() {
+        return index;
+    }
+
+    // 원본의 position 부터 최대 length 바이트를 dest 에 복사, 복사한 바이트 수 반환 (position 이 끝 이후면 -1)
+    public int read(long position, byte[] dest, int offset, int length) throws IOException {
+        if ((offset | length) < 0 || length > dest.length - offset || position < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (position >= size()) {
+            return -1;
+        }
+        int copied = 0;
+        while (copied < length && position < size()) {
+            int block = index.find(position);
+            byte[] data = block(block);
+            int from = (int) (position - index.getUncompressedOffset(block));
+            int chunk = Math.min(length - copied, data.length - from);
+            System.arraycopy(data, from, dest, offset + copied, chunk);
+            copied += chunk;
+            position += chunk;
+        }
+        return copied;
+    }
+
+    public byte[] read(long position, int length) throws IOException {
+        int available = (int) Math.max(0, Math.min(length, size() - position));
+        byte[] result = new byte[available];
+        if (available > 0) {
+            read(position, result, 0, available);
+        }
+        return result;
+    }
+
+    // 원본 전체를 outputFile 로 복원 (기존 파일은 덮어씀)
+    public void decompress(String outputFile) throws IOException {
+        decompress(outputFile, null, 1);
+    }
+
+    // 블록을 작업 스레드에 나눠 풀고 입력 순서대로 기록 - 블록이 독립적이라 코어 수만큼 빨라짐
+    // 메모리는 진행 중인 블록 (parallelism * 2) 만큼만 사용, 캐시는 거치지 않음 (풀 종료는 호출자 책임)
+    public void decompress(String outputFile, ExecutorService executor, int parallelism) throws IOException {
+        Deque<Future<byte[]>> pendingBlocks = new ArrayDeque<>();
+        int maxPendingBlocks = Math.max(1, parallelism) * 2;
+        try (ChannelOutputStream out = new ChannelOutputStream(Paths.get(outputFile))) {
+            for (int block = 0; block < index.getCount(); block++) {
+                if (executor == null) {
+                    out.write(decode(block));
+                    continue;
+                }
+                int next = block;
+                pendingBlocks.add(executor.submit(() -> decode(next)));
+                if (pendingBlocks.size() >= maxPendingBlocks) {
+                    out.write(await(pendingBlocks.poll()));
+                }
+            }
+            while (!pendingBlocks.isEmpty()) {
+                out.write(await(pendingBlocks.poll()));
+            }
+        } finally {
+            for (Future<byte[]> pendingBlock : pendingBlocks) {
+                pendingBlock.cancel(true);
+            }
+        }
+    }
+
+    private static byte[] await(Future<byte[]> pendingBlock) throws IOException {
+        try {
+            return pendingBlock.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while decompressing blocks", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Block decompression failed", e.getCause());
+        }
+    }
+
+    private byte[] block(int block) throws IOException {
+        synchronized (cache) {
+            byte[] cached = cache.get(block);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        // 푸는 동안에는 잠그지 않음 - 같은 블록을 두 스레드가 동시에 풀 수는 있음
+        byte[] data = decode(block);
+        synchronized (cache) {
+            cache.put(block, data);
+        }
+        return data;
+    }
+
+    private byte[] decode(int block) throws IOException {
+        ByteBuffer compressed = BlockIndex.readFully(channel, index.getCompressedOffset(block), index.getCompressedLength(block));
+        int length = index.getUncompressedLength(block);
+        try (InflateInputStream in = new InflateInputStream(
+                new ByteArrayInputStream(compressed.array(), 0, compressed.limit()), index.getFormat())) {
+            byte[] data = in.readNBytes(length);
+            if (data.length != length || in.read() != -1) {
+                throw new IOException("Block " + block + " length does not match index");
+            }
+            return data;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (cache) {
+            cache.clear();
+        }
+        channel.close();
+    }
+}
@@ -0,0 +1,155 @@
+package deflate;
+
+import deflate.core.codec.type.DeflateFormat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+// 표준 형식(RAW/ZLIB/GZIP) 을 JDK 구현과 양방향으로 맞춰 보고, 기존 형식의 경계 사례를 확인
+class DeflateFormatTest {
+    private static final int[] LEVELS = {1, 6, 9};
+    private static final int[] JDK_LEVELS = {0, 1, 6, 9};
+    // 압축기가 블록을 나누는 단위의 배수 (64KB, 256KB) 바로 앞 위치를 모두 덮도록
+    private static final int BLOCK_UNIT = 64 * 1024;
+
+    @TempDir
+    Path dir;
+
+    private static List<byte[]> inputs() {
+        return List.of(
+                new byte[0],
+                new byte[]{'a'},
+                new byte[]{0},
+                "abcabcabcabcabcabc hello hello hello".getBytes(StandardCharsets.US_ASCII),
+                new byte[70_000],
+                TestData.mixed(100_000, 7));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = DeflateFormat.class, names = {"RAW", "ZLIB", "GZIP"})
+    void jdkInflatesOurOutput(DeflateFormat format) throws IOException, DataFormatException {
+        for (byte[] data : inputs()) {
+            for (int level : LEVELS) {
+                Deflate deflate = new Deflate(level, format);
+                byte[] compressed = TestData.compress(deflate, data, dir);
+                String message = format + " " + data.length + " bytes, level " + level;
+                assertArrayEquals(data, TestData.jdkDecode(compressed, data.length, format), message);
+                assertArrayEquals(data, TestData.decompress(deflate, compressed, dir), message);
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = DeflateFormat.class, names = {"RAW", "ZLIB", "GZIP"})
+    void inflatesJdkOutput(DeflateFormat format) throws IOException {
+        for (byte[] data : inputs()) {
+            for (int level : JDK_LEVELS) {
+                assertArrayEquals(data, inflate(jdkCompress(data, level, format), format),
+                        format + " " + data.length + " bytes, jdk level " + level);
+            }
+        }
+    }
+
+    // SYNC_FLUSH 는 스트림 중간에 빈 저장 블록을 넣음
+    @ParameterizedTest
+    @EnumSource(value = DeflateFormat.class, names = {"RAW", "ZLIB"})
+    void inflatesJdkSyncFlushedOutput(DeflateFormat format) throws IOException {
+        byte[] data = TestData.mixed(200_000, 11);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(6, format == DeflateFormat.RAW);
+        try (DeflaterOutputStream deflaterOut = new DeflaterOutputStream(out, deflater, 512, true)) {
+            for (int off = 0; off < data.length; off += 10_000) {
+                deflaterOut.write(data, off, Math.min(10_000, data.length - off));
+                deflaterOut.flush();
+            }
+        } finally {
+            deflater.end();
+        }
+        assertArrayEquals(data, inflate(out.toByteArray(), format));
+    }
+
+    // 선택 필드(FEXTRA, FNAME, FCOMMENT, FHCRC) 가 모두 있는 gzip 헤더
+    @Test
+    void skipsOptionalGzipHeaderFields() throws IOException {
+        byte[] data = "optional gzip header fields".getBytes(StandardCharsets.US_ASCII);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(new byte[]{0x1f, (byte) 0x8b, 8, 0x02 | 0x04 | 0x08 | 0x10, 0, 0, 0, 0, 0, (byte) 255});
+        out.write(new byte[]{3, 0, 'x', 'y', 'z'});
+        out.write("name.txt\0".getBytes(StandardCharsets.US_ASCII));
+        out.write("comment\0".getBytes(StandardCharsets.US_ASCII));
+        out.write(new byte[]{0x12, 0x34});
+        out.write(jdkCompress(data, 6, DeflateFormat.RAW));
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        writeIntLE(out, (int) crc.getValue());
+        writeIntLE(out, data.length);
+        assertArrayEquals(data, inflate(out.toByteArray(), DeflateFormat.GZIP));
+    }
+
+    // 기존 형식은 블록 마지막 매치의 nextByte 0 을 버리므로 0 으로 끝나는 입력을 따로 확인
+    @Test
+    void legacyKeepsTrailingZero() throws IOException {
+        byte[] blocksEndInZero = TestData.mixed(BLOCK_UNIT * 5 + 5_000, 3);
+        for (int end = BLOCK_UNIT; end <= blocksEndInZero.length; end += BLOCK_UNIT) {
+            blocksEndInZero[end - 1] = 0;
+        }
+        blocksEndInZero[blocksEndInZero.length - 1] = 0;
+        List<byte[]> cases = List.of(
+                new byte[0],
+                new byte[]{0},
+                new byte[]{0, 0},
+                new byte[1000],
+                "abcabcabcabc\0".getBytes(StandardCharsets.US_ASCII),
+                "abc\0abc\0abc\0abc\0".getBytes(StandardCharsets.US_ASCII),
+                blocksEndInZero);
+        for (byte[] data : cases) {
+            for (int level : LEVELS) {
+                Deflate deflate = new Deflate(level, DeflateFormat.LEGACY);
+                assertArrayEquals(data, TestData.decompress(deflate, TestData.compress(deflate, data, dir), dir),
+                        Arrays.toString(Arrays.copyOf(data, Math.min(16, data.length))) + " level " + level);
+            }
+        }
+    }
+
+    private static byte[] jdkCompress(byte[] data, int level, DeflateFormat format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (format == DeflateFormat.GZIP) {
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                gzip.write(data);
+            }
+            return out.toByteArray();
+        }
+        Deflater deflater = new Deflater(level, format == DeflateFormat.RAW);
+        try (DeflaterOutputStream deflaterOut = new DeflaterOutputStream(out, deflater)) {
+            deflaterOut.write(data);
+        } finally {
+            deflater.end();
+        }
+        return out.toByteArray();
+    }
+
+    private byte[] inflate(byte[] compressed, DeflateFormat format) throws IOException {
+        return TestData.decompress(new Deflate(6, format), compressed, dir);
+    }
+
+    private static void writeIntLE(ByteArrayOutputStream out, int value) {
+        for (int i = 0; i < 4; i++) {
+            out.write(value >>> (8 * i));
+        }
+    }
+}
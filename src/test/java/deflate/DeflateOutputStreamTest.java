@@ -0,0 +1,145 @@
+package deflate;
+
+import deflate.core.codec.lz77.ParseStrategy;
+import deflate.core.codec.type.DeflateFormat;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.DataFormatException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DeflateOutputStreamTest {
+    private static final int[] LEVELS = {1, 6, 9};
+    // 블록 버퍼보다 커서 블록 경계를 두 번 넘는 입력
+    private static final byte[] DATA = TestData.mixed(DeflateOutputStream.BLOCK_SIZE * 2 + 100_000, 52);
+    private static final int PARALLELISM = 4;
+
+    private static ExecutorService executor;
+
+    @BeforeAll
+    static void startExecutor() {
+        executor = Executors.newFixedThreadPool(PARALLELISM);
+    }
+
+    @AfterAll
+    static void stopExecutor() {
+        executor.shutdownNow();
+    }
+
+    @ParameterizedTest
+    @EnumSource(DeflateFormat.class)
+    void sequentialRoundTripsAcrossBlocks(DeflateFormat format) throws IOException, DataFormatException {
+        for (int level : LEVELS) {
+            byte[] compressed = compress(DATA, level, format, null, 1, ExecutionMode.BLOCK_PARALLEL);
+            assertDecodes(DATA, compressed, format, "level " + level);
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(DeflateFormat.class)
+    void blockParallelRoundTripsAcrossBlocks(DeflateFormat format) throws IOException, DataFormatException {
+        for (int level : LEVELS) {
+            byte[] compressed = compress(DATA, level, format, executor, PARALLELISM, ExecutionMode.BLOCK_PARALLEL);
+            assertDecodes(DATA, compressed, format, "level " + level);
+        }
+    }
+
+    // 파이프라인은 윈도우를 이어 쓰므로 순차 압축과 바이트 단위로 같아야 함
+    @ParameterizedTest
+    @EnumSource(DeflateFormat.class)
+    void pipelinedMatchesSequential(DeflateFormat format) throws IOException, DataFormatException {
+        for (int level : LEVELS) {
+            byte[] compressed = compress(DATA, level, format, executor, PARALLELISM, ExecutionMode.PIPELINED);
+            assertDecodes(DATA, compressed, format, "level " + level);
+            assertArrayEquals(compress(DATA, level, format, null, 1, ExecutionMode.PIPELINED), compressed,
+                    format + " level " + level);
+        }
+    }
+
+    // 압축되는 조각과 저장 블록 조각이 번갈아 오는 입력 - 저장 블록 조각은 대개 바이트 경계가 아닌 위치에 이어 붙음
+    // 조각은 스레드와 관계없이 같게 압축되고 정렬은 이어 붙인 위치로만 정해지므로 스레드 수와 관계없이 같은 출력
+    @ParameterizedTest
+    @EnumSource(DeflateFormat.class)
+    void blockParallelOutputDoesNotDependOnThreadCount(DeflateFormat format) throws IOException, DataFormatException {
+        int chunk = DeflateOutputStream.BLOCK_SIZE;
+        byte[] data = new byte[chunk * 4 + 777];
+        Random random = new Random(4);
+        for (int i = 0; i < 4; i++) {
+            if (i % 2 == 0) {
+                System.arraycopy(TestData.mixed(chunk, i), 0, data, i * chunk, chunk);
+            } else {
+                byte[] noise = new byte[chunk];
+                random.nextBytes(noise);
+                System.arraycopy(noise, 0, data, i * chunk, chunk);
+            }
+        }
+        byte[] expected = null;
+        for (int threads : new int[]{1, 2, PARALLELISM}) {
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            try {
+                byte[] compressed = compress(data, 6, format, pool, threads, ExecutionMode.BLOCK_PARALLEL);
+                if (expected == null) {
+                    expected = compressed;
+                    assertDecodes(data, compressed, format, "threads " + threads);
+                } else {
+                    assertArrayEquals(expected, compressed, "threads " + threads);
+                }
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+    }
+
+    // 한 바이트씩 쓰고 읽어도 블록 경계와 체크섬이 같은 결과
+    @ParameterizedTest
+    @EnumSource(DeflateFormat.class)
+    void singleByteWritesAndReadsMatchBulk(DeflateFormat format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DeflateOutputStream deflater = new DeflateOutputStream(out, 6, format)) {
+            for (byte b : DATA) {
+                deflater.write(b);
+            }
+        }
+        assertArrayEquals(compress(DATA, 6, format, null, 1, ExecutionMode.BLOCK_PARALLEL), out.toByteArray());
+
+        byte[] restored = new byte[DATA.length];
+        try (InflateInputStream in = new InflateInputStream(new ByteArrayInputStream(out.toByteArray()), format)) {
+            for (int i = 0; i < restored.length; i++) {
+                restored[i] = (byte) in.read();
+            }
+            assertEquals(-1, in.read());
+        }
+        assertArrayEquals(DATA, restored);
+    }
+
+    static byte[] compress(byte[] data, int level, DeflateFormat format, ExecutorService executor, int parallelism,
+                           ExecutionMode mode) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DeflateOutputStream deflater = new DeflateOutputStream(out, level, format, ParseStrategy.HEURISTIC,
+                executor, parallelism, mode)) {
+            deflater.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    // 이 라이브러리의 inflater 와, 표준 형식이면 JDK 로도 풀어 확인
+    static void assertDecodes(byte[] expected, byte[] compressed, DeflateFormat format, String message)
+            throws IOException, DataFormatException {
+        try (InflateInputStream in = new InflateInputStream(new ByteArrayInputStream(compressed), format)) {
+            assertArrayEquals(expected, in.readAllBytes(), format + " " + message);
+        }
+        if (format != DeflateFormat.LEGACY) {
+            assertArrayEquals(expected, TestData.jdkDecode(compressed, expected.length, format), "jdk " + message);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package deflate;
+
+import deflate.core.codec.lz77.MatchFinderType;
+import deflate.core.codec.type.DeflateFormat;
+import deflate.core.io.ReadAheadInputStream;
+import deflate.core.io.WriteBehindOutputStream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.DataFormatException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeflateTest {
+    private static final int[] LEVELS = {1, 6, 9};
+    private static final int PARALLELISM = 4;
+
+    private static ExecutorService executor;
+
+    @TempDir
+    Path dir;
+
+    @BeforeAll
+    static void startExecutor() {
+        executor = Executors.newFixedThreadPool(PARALLELISM);
+    }
+
+    @AfterAll
+    static void stopExecutor() {
+        executor.shutdownNow();
+    }
+
+    // 블록 여러 개에 걸친 입력 - 순차 압축은 직전 블록의 윈도우와 해시 체인을 이어 씀
+    @ParameterizedTest
+    @EnumSource(DeflateFormat.class)
+    void roundTripsAcrossBlocks(DeflateFormat format) throws IOException, DataFormatException {
+        byte[] data = TestData.mixed(600_000, 52);
+        for (int level : LEVELS) {
+            assertDecodes(data, new Deflate(level, format), format, "sequential level " + level);
+            assertDecodes(data, new Deflate(level, format, executor, PARALLELISM), format, "parallel level " + level);
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(MatchFinderType.class)
+    void compressesWithGivenMatchFinder(MatchFinderType matchFinder) throws IOException, DataFormatException {
+        byte[] data = TestData.mixed(600_000, 52);
+        assertDecodes(data, new Deflate(9, DeflateFormat.RAW, matchFinder), DeflateFormat.RAW, matchFinder.name());
+    }
+
+    // 선읽기/뒤쓰기 버퍼(1MB)보다 큰 파일 - 압축본도 1MB 를 넘도록 앞쪽은 압축되지 않는 난수
+    @ParameterizedTest
+    @EnumSource(DeflateFormat.class)
+    void roundTripsFilesLargerThanIoBuffers(DeflateFormat format) throws IOException, DataFormatException {
+        byte[] noise = new byte[WriteBehindOutputStream.DEFAULT_BUFFER_SIZE + 200_000];
+        new Random(25).nextBytes(noise);
+        byte[] text = TestData.mixed(ReadAheadInputStream.DEFAULT_CHUNK_SIZE + 300_000, 25);
+        byte[] data = new byte[noise.length + text.length];
+        System.arraycopy(noise, 0, data, 0, noise.length);
+        System.arraycopy(text, 0, data, noise.length, text.length);
+
+        Deflate deflate = new Deflate(1, format);
+        byte[] compressed = TestData.compress(deflate, data, dir);
+        assertTrue(compressed.length > WriteBehindOutputStream.DEFAULT_BUFFER_SIZE, "compressed " + compressed.length);
+        assertDecodes(data, deflate, format, "sequential");
+        assertDecodes(data, new Deflate(1, format, executor, PARALLELISM), format, "parallel");
+    }
+
+    // 같은 20KB 를 되풀이하면 이력을 이어 쓰는 순차 압축만 블록 첫머리부터 매치를 찾음
+    @Test
+    void sequentialMatchesReachPreviousBlock() throws IOException {
+        byte[] unit = TestData.mixed(20_000, 1);
+        byte[] data = new byte[unit.length * 52];
+        for (int off = 0; off < data.length; off += unit.length) {
+            System.arraycopy(unit, 0, data, off, unit.length);
+        }
+        byte[] sequential = TestData.compress(new Deflate(), data, dir);
+        byte[] parallel = TestData.compress(new Deflate(executor, PARALLELISM), data, dir);
+        assertTrue(sequential.length < parallel.length, sequential.length + " >= " + parallel.length);
+        assertArrayEquals(data, TestData.decompress(new Deflate(), sequential, dir));
+        assertArrayEquals(data, TestData.decompress(new Deflate(), parallel, dir));
+    }
+
+    // 이 라이브러리로, 표준 형식이면 JDK 로도 풀어 확인
+    private void assertDecodes(byte[] data, Deflate deflate, DeflateFormat format, String message)
+            throws IOException, DataFormatException {
+        byte[] compressed = TestData.compress(deflate, data, dir);
+        assertArrayEquals(data, TestData.decompress(deflate, compressed, dir), message);
+        if (format != DeflateFormat.LEGACY) {
+            assertArrayEquals(data, TestData.jdkDecode(compressed, data.length, format), "jdk " + message);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package deflate;
+
+import deflate.core.codec.type.CompressType;
+import deflate.core.codec.type.DeflateFormat;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.zip.DataFormatException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FixedHuffmanBlockTest {
+    // 동적 헤더(HLIT/HDIST/HCLEN 과 코드 길이)가 본문보다 큰 입력
+    private static final byte[] TINY = "hello, hello, fixed huffman!".getBytes();
+
+    @Test
+    void tinyInputIsWrittenAsFixedHuffmanBlock() throws IOException, DataFormatException {
+        DeflateFormat[] formats = {DeflateFormat.RAW, DeflateFormat.ZLIB, DeflateFormat.GZIP};
+        // 프레임 헤더 뒤 첫 바이트가 블록 헤더
+        int[] headerSizes = {0, 2, 10};
+        for (int i = 0; i < formats.length; i++) {
+            for (int level : new int[]{1, 6, 9}) {
+                byte[] compressed = DeflateOutputStreamTest.compress(TINY, level, formats[i], null, 1,
+                        ExecutionMode.BLOCK_PARALLEL);
+                // LSB 우선: 비트 0 이 BFINAL, 비트 1-2 가 BTYPE
+                int header = compressed[headerSizes[i]] & 0x07;
+                String message = formats[i] + " level " + level;
+                assertEquals(1, header & 1, message);
+                assertEquals(CompressType.FIX_HUFFMAN.ordinal(), header >>> 1, message);
+                DeflateOutputStreamTest.assertDecodes(TINY, compressed, formats[i], message);
+            }
+        }
+    }
+
+    // 한 바이트, 같은 바이트 반복(거리 1 매치)도 고정 코드로 풀려야 함
+    @Test
+    void fixedBlocksInflateWithJdk() throws IOException, DataFormatException {
+        byte[][] inputs = {{'a'}, "aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa".getBytes(), TINY};
+        for (byte[] input : inputs) {
+            byte[] compressed = DeflateOutputStreamTest.compress(input, 6, DeflateFormat.RAW, null, 1,
+                    ExecutionMode.BLOCK_PARALLEL);
+            assertEquals(CompressType.FIX_HUFFMAN.ordinal(), (compressed[0] >>> 1) & 0x03, new String(input));
+            DeflateOutputStreamTest.assertDecodes(input, compressed, DeflateFormat.RAW, new String(input));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package deflate;
+
+import deflate.core.codec.type.DeflateFormat;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class InflateInputStreamTest {
+    private static final long TIMEOUT_SECONDS = 10;
+
+    // flush 한 데이터는 뒤 데이터가 오기 전에 읽혀야 함 - 파이프 너머 압축기는 읽는 쪽이 끝나야 다음을 씀
+    @ParameterizedTest
+    @EnumSource(DeflateFormat.class)
+    void readsFlushedDataBeforeMoreIsWritten(DeflateFormat format)
+            throws IOException, InterruptedException, ExecutionException, TimeoutException {
+        byte[][] chunks = {
+                "hello".getBytes(),
+                TestData.mixed(100_000, 7),
+                new byte[]{0},
+                "world".getBytes()
+        };
+        PipedInputStream pipeIn = new PipedInputStream(1024 * 1024);
+        PipedOutputStream pipeOut = new PipedOutputStream(pipeIn);
+        // 파이프는 읽는 스레드가 하나여야 하므로 단일 스레드에서 모두 읽음
+        ExecutorService reader = Executors.newSingleThreadExecutor();
+        try (InflateInputStream in = new InflateInputStream(pipeIn, format);
+             DeflateOutputStream out = new DeflateOutputStream(pipeOut, 6, format)) {
+            for (byte[] chunk : chunks) {
+                out.write(chunk);
+                out.flush();
+                Future<byte[]> read = reader.submit(() -> in.readNBytes(chunk.length));
+                assertArrayEquals(chunk, read.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            }
+            out.close();
+            assertEquals(-1, reader.submit(() -> in.read()).get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        } finally {
+            reader.shutdownNow();
+        }
+    }
+}
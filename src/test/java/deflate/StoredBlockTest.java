@@ -0,0 +1,110 @@
+package deflate;
+
+import deflate.core.codec.compressorwriter.StoredWriter;
+import deflate.core.codec.type.CompressType;
+import deflate.core.codec.type.DeflateFormat;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.DataFormatException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StoredBlockTest {
+    // 한 번에 압축하는 단위(BLOCK_SIZE) 안이면서 LEN 필드 범위(65535)를 여러 번 넘는 크기
+    private static final int SIZE = 200_000;
+
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final byte[] ZIP = {'P', 'K', 0x03, 0x04};
+
+    @Test
+    void randomDataIsStored() throws IOException, DataFormatException {
+        assertStored(random(SIZE, 256, 11));
+    }
+
+    // 바이트 값이 220 가지뿐인 본문(엔트로피 약 7.78)은 시그니처가 있을 때만 완화된 기준으로 저장 블록
+    @Test
+    void knownFormatHeaderFollowedByRandomBytesIsStored() throws IOException, DataFormatException {
+        byte[] body = random(SIZE, 220, 12);
+        assertNotEquals(CompressType.NONE.ordinal(), blockTypes(compress(body, 6)).get(0), "plain body");
+        for (byte[] magic : new byte[][]{PNG, ZIP}) {
+            byte[] data = body.clone();
+            System.arraycopy(magic, 0, data, 0, magic.length);
+            assertStored(data);
+        }
+    }
+
+    // 65535 바이트를 넘는 저장 블록은 LEN 필드에 맞게 나뉘고 마지막 조각에만 BFINAL
+    @Test
+    void storedBlocksAreSplitAtMaxLength() throws IOException, DataFormatException {
+        byte[] data = random(SIZE, 256, 13);
+        byte[] compressed = compress(data, 6);
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        int position = 0;
+        List<Integer> lengths = new ArrayList<>();
+        while (position < compressed.length) {
+            int header = compressed[position] & 0x07;
+            assertEquals(CompressType.NONE.ordinal(), header >>> 1, "block " + lengths.size());
+            int length = u16(compressed, position + 1);
+            assertEquals(~length & 0xFFFF, u16(compressed, position + 3), "NLEN");
+            payload.write(compressed, position + 5, length);
+            lengths.add(length);
+            position += 5 + length;
+            assertEquals(position == compressed.length ? 1 : 0, header & 1, "BFINAL of block " + lengths.size());
+        }
+        assertEquals(List.of(65535, 65535, 65535, SIZE - 3 * 65535), lengths);
+        assertArrayEquals(data, payload.toByteArray());
+    }
+
+    // 모든 블록이 저장 블록이고, 크기는 저장 블록 상한 이하, 이 라이브러리와 JDK 로 모두 풀림
+    private static void assertStored(byte[] data) throws IOException, DataFormatException {
+        for (int level : new int[]{1, 6, 9}) {
+            byte[] compressed = compress(data, level);
+            for (int type : blockTypes(compressed)) {
+                assertEquals(CompressType.NONE.ordinal(), type, "level " + level);
+            }
+            assertTrue(8L * compressed.length <= StoredWriter.bitLength(data.length),
+                    "level " + level + ": " + compressed.length + " bytes");
+            DeflateOutputStreamTest.assertDecodes(data, compressed, DeflateFormat.RAW, "level " + level);
+        }
+    }
+
+    private static byte[] compress(byte[] data, int level) throws IOException {
+        return DeflateOutputStreamTest.compress(data, level, DeflateFormat.RAW, null, 1, ExecutionMode.BLOCK_PARALLEL);
+    }
+
+    // 첫 블록부터 저장 블록이 이어지는 동안의 BTYPE, 저장 블록이 아닌 블록을 만나면 그 BTYPE 을 넣고 멈춤
+    private static List<Integer> blockTypes(byte[] compressed) {
+        List<Integer> types = new ArrayList<>();
+        int position = 0;
+        while (position < compressed.length) {
+            int type = (compressed[position] >>> 1) & 0x03;
+            types.add(type);
+            if (type != CompressType.NONE.ordinal()) {
+                break;
+            }
+            position += 5 + u16(compressed, position + 1);
+        }
+        return types;
+    }
+
+    private static int u16(byte[] data, int offset) {
+        return (data[offset] & 0xFF) | (data[offset + 1] & 0xFF) << 8;
+    }
+
+    private static byte[] random(int size, int symbols, long seed) {
+        Random random = new Random(seed);
+        byte[] data = new byte[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = (byte) random.nextInt(symbols);
+        }
+        return data;
+    }
+}
@@ -0,0 +1,124 @@
+package deflate;
+
+import deflate.core.codec.type.DeflateFormat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.DataFormatException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+
+// 테스트 입력, 파일 압축/복원, JDK 로 푸는 도우미 - 시드가 같으면 같은 바이트열
+public final class TestData {
+    private static final String[] WORDS = {
+            "the", "block", "window", "match", "length", "distance", "huffman", "literal", "stream", "deflate",
+            "public", "static", "final", "int", "return", "byte", "new", "if", "else", "while",
+            "for", "class", "void", "private", "import", "java", "util", "(", ")", "{", "}", ";", "=", "\n",
+            "    ", "// ", "압축", "블록", "0x80", "getLength()"
+    };
+
+    private TestData() {
+    }
+
+    // 텍스트, 앞부분 되풀이(32KB 를 넘는 거리 포함), 무작위 바이트, 같은 바이트 반복이 섞인 입력
+    public static byte[] mixed(int size, long seed) {
+        Random random = new Random(seed);
+        byte[] data = new byte[size];
+        int n = 0;
+        while (n < size) {
+            int kind = random.nextInt(10);
+            if (kind < 5 || n == 0) {
+                int end = Math.min(size, n + 100 + random.nextInt(3000));
+                while (n < end) {
+                    // 앞쪽 단어가 훨씬 자주 나오도록 치우친 분포
+                    String word = WORDS[(int) (WORDS.length * Math.pow(random.nextDouble(), 2))];
+                    byte[] bytes = (word + " ").getBytes(StandardCharsets.UTF_8);
+                    int length = Math.min(bytes.length, end - n);
+                    System.arraycopy(bytes, 0, data, n, length);
+                    n += length;
+                }
+            } else if (kind < 8) {
+                int distance = 1 + random.nextInt(Math.min(n, 40000));
+                int end = Math.min(size, n + 3 + random.nextInt(600));
+                for (; n < end; n++) {
+                    data[n] = data[n - distance];
+                }
+            } else if (kind < 9) {
+                int end = Math.min(size, n + 50 + random.nextInt(2000));
+                for (; n < end; n++) {
+                    data[n] = (byte) random.nextInt(256);
+                }
+            } else {
+                byte value = (byte) random.nextInt(256);
+                int end = Math.min(size, n + 10 + random.nextInt(1000));
+                for (; n < end; n++) {
+                    data[n] = value;
+                }
+            }
+        }
+        return data;
+    }
+
+    // nowrap: RAW 면 true, ZLIB 이면 false - 출력 길이를 알고 있어야 함
+    public static byte[] inflate(byte[] compressed, int length, boolean nowrap) throws DataFormatException {
+        Inflater inflater = new Inflater(nowrap);
+        try {
+            inflater.setInput(compressed);
+            // 한 바이트 여유를 두어 빈 입력도 스트림 끝까지 풀고, 남는 출력은 길이 불일치로 잡음
+            byte[] out = new byte[length + 1];
+            int n = 0;
+            while (n < out.length && !inflater.finished()) {
+                int read = inflater.inflate(out, n, out.length - n);
+                if (read == 0 && !inflater.finished() && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("truncated stream");
+                }
+                n += read;
+            }
+            if (n != length || !inflater.finished()) {
+                throw new DataFormatException("length mismatch: " + n + " != " + length);
+            }
+            return Arrays.copyOf(out, length);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    // 표준 형식을 JDK 로 풂 - RAW/ZLIB 은 Inflater, GZIP 은 GZIPInputStream
+    public static byte[] jdkDecode(byte[] compressed, int length, DeflateFormat format)
+            throws IOException, DataFormatException {
+        switch (format) {
+            case RAW:
+                return inflate(compressed, length, true);
+            case ZLIB:
+                return inflate(compressed, length, false);
+            case GZIP:
+                try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+                    return in.readAllBytes();
+                }
+            default:
+                throw new IllegalArgumentException("JDK cannot decode " + format);
+        }
+    }
+
+    // dir 안의 임시 파일을 거쳐 Deflate 파일 API 로 압축
+    public static byte[] compress(Deflate deflate, byte[] data, Path dir) throws IOException {
+        Path input = Files.write(dir.resolve("input"), data);
+        Path output = dir.resolve("compressed");
+        Files.deleteIfExists(output);
+        deflate.compress(input.toString(), output.toString());
+        return Files.readAllBytes(output);
+    }
+
+    public static byte[] decompress(Deflate deflate, byte[] compressed, Path dir) throws IOException {
+        Path input = Files.write(dir.resolve("compressed"), compressed);
+        Path output = dir.resolve("restored");
+        Files.deleteIfExists(output);
+        deflate.decompress(input.toString(), output.toString());
+        return Files.readAllBytes(output);
+    }
+}
@@ -0,0 +1,113 @@
+package deflate.core.codec.compressor;
+
+import deflate.core.codec.lz77.CompressionLevel;
+import deflate.core.codec.lz77.LZ77Service;
+import deflate.core.codec.type.DeflateFormat;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BlockSplitterTest {
+    private static final String[] WORDS = {
+            "the", "of", "and", "block", "stream", "window", "match", "length", "distance", "header",
+            "table", "section", "offset", "value", "record", "index", "entry", "symbol", "code", "data"
+    };
+    // 분할 지점은 후보 간격 단위로만 고르므로 경계와 이 정도 바이트 안에 있으면 충분
+    private static final int TOLERANCE = 4096;
+
+    // 텍스트 - 난수 바이트 - 텍스트 입력은 두 전환 지점 근처에서 나뉨
+    @Test
+    void cutsAtTextBinaryBoundaries() {
+        Random random = new Random(17);
+        byte[] first = text(60_000, random);
+        byte[] binary = new byte[60_000];
+        random.nextBytes(binary);
+        byte[] last = text(60_000, random);
+        byte[] data = new byte[first.length + binary.length + last.length];
+        System.arraycopy(first, 0, data, 0, first.length);
+        System.arraycopy(binary, 0, data, first.length, binary.length);
+        System.arraycopy(last, 0, data, first.length + binary.length, last.length);
+        int[] transitions = {first.length, first.length + binary.length};
+
+        LZ77Service.EncodingResult result = new LZ77Service(CompressionLevel.DEFAULT, false, DeflateFormat.RAW)
+                .generateCodes(data);
+        int[] boundaries = new BlockSplitter(DeflateFormat.RAW).split(result);
+        int[] offsets = byteOffsets(result, boundaries);
+
+        for (int transition : transitions) {
+            boolean found = false;
+            for (int i = 1; i + 1 < offsets.length; i++) {
+                found |= Math.abs(offsets[i] - transition) <= TOLERANCE;
+            }
+            assertTrue(found, "no cut near " + transition);
+        }
+        // 통계가 고른 난수 구간 안쪽은 나누지 않음 (텍스트 앞부분은 윈도우가 차며 매치 비율이 바뀌어 나뉠 수 있음)
+        for (int i = 1; i + 1 < offsets.length; i++) {
+            assertFalse(offsets[i] > transitions[0] + 2 * TOLERANCE && offsets[i] < transitions[1] - 2 * TOLERANCE,
+                    "cut at " + offsets[i] + " inside the binary section");
+        }
+    }
+
+    // 기존 형식에서 블록 마지막 매치의 nextByte 0 은 버려지므로, 통계상 가장 좋은 지점이어도 그 매치 뒤에서는 나누지 않음
+    @Test
+    void doesNotCutAfterLegacyMatchWithZeroNextByte() {
+        int cut = 4096;
+        assertTrue(contains(new BlockSplitter(DeflateFormat.LEGACY).split(legacyTokens(cut, (byte) 1)), cut));
+
+        int[] boundaries = new BlockSplitter(DeflateFormat.LEGACY).split(legacyTokens(cut, (byte) 0));
+        assertFalse(contains(boundaries, cut));
+        assertTrue(boundaries.length > 2, "통계가 바뀌는 입력은 그래도 나뉘어야 함");
+    }
+
+    // 앞 cut 개는 소문자 리터럴, 뒤 cut 개는 임의 바이트 리터럴, cut 바로 앞 토큰은 nextByte 가 next 인 매치
+    private static LZ77Service.EncodingResult legacyTokens(int cut, byte next) {
+        Random random = new Random(23);
+        LZ77Service.EncodingResult result = new LZ77Service.EncodingResult(2 * cut);
+        for (int i = 0; i < 2 * cut; i++) {
+            if (i == cut - 1) {
+                result.add(1, 3, next);
+            } else if (i < cut) {
+                result.add(0, 0, (byte) ('a' + random.nextInt(8)));
+            } else {
+                result.add(0, 0, (byte) random.nextInt(256));
+            }
+        }
+        return result;
+    }
+
+    private static byte[] text(int size, Random random) {
+        StringBuilder text = new StringBuilder(size + 16);
+        while (text.length() < size) {
+            text.append(WORDS[(int) (WORDS.length * Math.pow(random.nextDouble(), 2))]).append(' ');
+        }
+        return text.substring(0, size).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    // 토큰 경계 -> 원본 바이트 위치 (RAW 토큰은 리터럴 하나 또는 매치 하나)
+    private static int[] byteOffsets(LZ77Service.EncodingResult result, int[] boundaries) {
+        int[] offsets = new int[boundaries.length];
+        int[] lengths = result.getLengths();
+        int token = 0;
+        int position = 0;
+        for (int b = 0; b < boundaries.length; b++) {
+            for (; token < boundaries[b]; token++) {
+                position += lengths[token] == 0 ? 1 : lengths[token];
+            }
+            offsets[b] = position;
+        }
+        return offsets;
+    }
+
+    private static boolean contains(int[] values, int value) {
+        for (int v : values) {
+            if (v == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,161 @@
+package deflate.core.codec.huffman;
+
+import deflate.core.io.BitOrder;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HuffmanServiceTest {
+    // 제한 없는 허프만 길이를 얻을 때 쓰는 한도 - package-merge 로 넘어가지 않음
+    private static final int UNLIMITED = 30;
+
+    private final HuffmanService huffmanService = new HuffmanService();
+
+    // 피보나치 빈도는 허프만 트리가 한쪽으로만 자라 심볼 수 - 1 길이의 코드를 만듦
+    @Test
+    void limitsFibonacciLiteralCodes() {
+        int[] frequencies = new int[286];
+        int[] fibonacci = fibonacci(30);
+        for (int i = 0; i < fibonacci.length; i++) {
+            frequencies[i * 9] = fibonacci[i];
+        }
+        assertLimited(frequencies, 15);
+    }
+
+    @Test
+    void limitsFibonacciCodeLengthCodes() {
+        assertLimited(fibonacci(19), 7);
+    }
+
+    // 피보나치에 잡음을 섞고 빈 심볼을 흩어 둔 빈도 (합이 int 를 넘지 않도록 상한)
+    @Test
+    void limitsSkewedRandomFrequencies() {
+        int cap = 1 << 22;
+        for (long seed = 1; seed <= 20; seed++) {
+            Random random = new Random(seed);
+            int[] frequencies = new int[286];
+            int a = 1;
+            int b = 1;
+            for (int symbol = 0; symbol < frequencies.length; symbol++) {
+                if (random.nextInt(4) == 0) {
+                    continue;
+                }
+                frequencies[symbol] = Math.min(cap, a + random.nextInt(a + 1));
+                int next = Math.min(cap, a + b);
+                a = b;
+                b = next;
+            }
+            assertLimited(frequencies, 15);
+        }
+    }
+
+    // 결과 배열을 넘기는 형태는 이전 내용과 관계없이 새 배열을 받는 형태와 같은 결과
+    @Test
+    void reusedResultArraysMatchFreshOnes() {
+        int[] first = fibonacci(19);
+        int[] second = new int[19];
+        second[3] = 5;
+        second[11] = 9;
+        byte[] lengths = new byte[19];
+        int[] codes = new int[19];
+        for (int[] frequencies : new int[][]{first, second}) {
+            byte[] expectedLengths = huffmanService.buildCodeLengths(frequencies, 7);
+            huffmanService.buildCodeLengths(frequencies, 7, lengths);
+            assertArrayEquals(expectedLengths, lengths);
+            for (BitOrder bitOrder : BitOrder.values()) {
+                huffmanService.generateCanonicalCodes(lengths, bitOrder, codes);
+                assertArrayEquals(huffmanService.generateCanonicalCodes(expectedLengths, bitOrder), codes);
+            }
+        }
+    }
+
+    private void assertLimited(int[] frequencies, int limit) {
+        byte[] unlimited = huffmanService.buildCodeLengths(frequencies, UNLIMITED);
+        assertTrue(max(unlimited) > limit, "package-merge 를 거치지 않는 입력");
+
+        byte[] lengths = huffmanService.buildCodeLengths(frequencies, limit);
+        long kraft = 0;
+        for (int symbol = 0; symbol < frequencies.length; symbol++) {
+            assertEquals(frequencies[symbol] == 0, lengths[symbol] == 0, "symbol " + symbol);
+            assertTrue(lengths[symbol] <= limit, "symbol " + symbol + " length " + lengths[symbol]);
+            if (lengths[symbol] != 0) {
+                kraft += 1L << (limit - lengths[symbol]);
+            }
+        }
+        assertEquals(1L << limit, kraft, "Kraft sum");
+        assertTrue(cost(frequencies, lengths) <= cost(frequencies, heuristicLengths(frequencies, unlimited, limit)));
+    }
+
+    // 이전 구현의 길이 제한 (limitedMinizInPlace): 긴 코드를 한도로 자르고 Kraft 합이 맞을 때까지 짧은 코드를 늘림
+    // 같은 원래 길이 안에서는 빈도가 큰 심볼에 짧은 코드를 줘 휴리스틱에 유리하게 비교
+    private static byte[] heuristicLengths(int[] frequencies, byte[] unlimited, int limit) {
+        int[] histogram = new int[UNLIMITED + 1];
+        for (byte length : unlimited) {
+            histogram[Math.min(length, limit)]++;
+        }
+        histogram[0] = 0;
+        long total = 0;
+        for (int length = 1; length <= limit; length++) {
+            total += (long) histogram[length] << (limit - length);
+        }
+        while (total > (1L << limit)) {
+            histogram[limit]--;
+            for (int length = limit - 1; length > 0; length--) {
+                if (histogram[length] > 0) {
+                    histogram[length]--;
+                    histogram[length + 1] += 2;
+                    break;
+                }
+            }
+            total--;
+        }
+
+        Integer[] symbols = new Integer[frequencies.length];
+        for (int symbol = 0; symbol < symbols.length; symbol++) {
+            symbols[symbol] = symbol;
+        }
+        Arrays.sort(symbols, (x, y) -> unlimited[x] != unlimited[y]
+                ? Integer.compare(unlimited[x], unlimited[y])
+                : Integer.compare(frequencies[y], frequencies[x]));
+        byte[] lengths = new byte[frequencies.length];
+        int next = 0;
+        while (unlimited[symbols[next]] == 0) {
+            next++;
+        }
+        for (int length = 1; length <= limit; length++) {
+            for (int i = 0; i < histogram[length]; i++) {
+                lengths[symbols[next++]] = (byte) length;
+            }
+        }
+        return lengths;
+    }
+
+    private static long cost(int[] frequencies, byte[] lengths) {
+        long bits = 0;
+        for (int symbol = 0; symbol < frequencies.length; symbol++) {
+            bits += (long) frequencies[symbol] * lengths[symbol];
+        }
+        return bits;
+    }
+
+    private static int max(byte[] lengths) {
+        int max = 0;
+        for (byte length : lengths) {
+            max = Math.max(max, length);
+        }
+        return max;
+    }
+
+    private static int[] fibonacci(int count) {
+        int[] result = new int[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = i < 2 ? 1 : result[i - 1] + result[i - 2];
+        }
+        return result;
+    }
+}
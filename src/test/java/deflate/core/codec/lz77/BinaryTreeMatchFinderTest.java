@@ -0,0 +1,54 @@
+package deflate.core.codec.lz77;
+
+import deflate.DeflateOutputStream;
+import deflate.ExecutionMode;
+import deflate.TestData;
+import deflate.core.codec.type.DeflateFormat;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.zip.DataFormatException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BinaryTreeMatchFinderTest {
+
+    // 블록 끝에서 비교 한도가 줄어든 채 트리에 넣은 위치가 다음 블록으로 넘어가면 틀린 매치를 만들던 문제
+    @Test
+    void carriesTreeAcrossBlocks() throws IOException, DataFormatException {
+        for (int level : new int[]{6, 9}) {
+            // 256KB 블록 셋 - 이 범위의 시드 52, 59, 61 이 고치기 전 코드에서 깨지던 입력
+            for (long seed = 0; seed < 64; seed++) {
+                byte[] data = TestData.mixed(600_000, seed);
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                try (DeflateOutputStream deflater = new DeflateOutputStream(out, level, DeflateFormat.RAW,
+                        ParseStrategy.HEURISTIC, MatchFinderType.BINARY_TREE, null, 1, ExecutionMode.BLOCK_PARALLEL)) {
+                    deflater.write(data);
+                }
+                assertArrayEquals(data, TestData.inflate(out.toByteArray(), data.length, true),
+                        "level " + level + " seed " + seed);
+            }
+        }
+    }
+
+    // 블록 끝 위치는 찾기만 하고 넣지 않았다가 뒤 데이터가 붙은 다음 블록에서 넣어야 함
+    @Test
+    void insertsDeferredPositionsWithNextBlock() {
+        Random random = new Random(3);
+        byte[] first = new byte[20_000];
+        random.nextBytes(first);
+        byte[] second = new byte[20_000];
+        random.nextBytes(second);
+        // 다음 블록은 직전 블록의 마지막 200 바이트로 시작 - 그 위치들은 직전 블록에서 뒤 데이터가 모자랐음
+        System.arraycopy(first, first.length - 200, second, 0, 200);
+
+        LZ77Service service = new LZ77Service(CompressionLevel.LEVEL_9, true, DeflateFormat.RAW, MatchFinderType.BINARY_TREE);
+        service.generateCodes(first);
+        LZ77Service.EncodingResult result = service.generateCodes(second);
+        assertEquals(200, result.getOffsets()[0]);
+        assertEquals(200, result.getLengths()[0]);
+    }
+}
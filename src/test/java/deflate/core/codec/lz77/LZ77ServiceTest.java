@@ -0,0 +1,44 @@
+package deflate.core.codec.lz77;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LZ77ServiceTest {
+
+    // 직전 블록을 그대로 되풀이한 블록은 첫 토큰부터 이력 안을 가리킴
+    @Test
+    void matchesReachIntoPreviousBlock() {
+        byte[] block = new byte[20_000];
+        new Random(3).nextBytes(block);
+
+        LZ77Service service = new LZ77Service(true);
+        service.generateCodes(block);
+        LZ77Service.EncodingResult result = service.generateCodes(block.clone());
+        assertEquals(block.length, result.getOffsets()[0]);
+        assertTrue(result.getLengths()[0] >= 3);
+
+        LZ77Service independent = new LZ77Service(false);
+        independent.generateCodes(block);
+        assertEquals(0, independent.generateCodes(block.clone()).getLengths()[0]);
+    }
+
+    // 저장된 이력은 호출자 버퍼의 사본 - 블록 버퍼를 재사용해도 다음 블록 매치가 맞음
+    @Test
+    void historyIsCopiedFromCallerBuffer() {
+        byte[] first = new byte[10_000];
+        new Random(4).nextBytes(first);
+        byte[] buffer = first.clone();
+
+        LZ77Service service = new LZ77Service(true);
+        service.generateCodes(buffer);
+        new Random(5).nextBytes(buffer);
+        System.arraycopy(first, 0, buffer, 0, 1000);
+        LZ77Service.EncodingResult result = service.generateCodes(buffer);
+        assertEquals(first.length, result.getOffsets()[0]);
+        assertTrue(result.getLengths()[0] >= 3);
+    }
+}
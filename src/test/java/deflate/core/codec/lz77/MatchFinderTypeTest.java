@@ -0,0 +1,84 @@
+package deflate.core.codec.lz77;
+
+import deflate.DeflateOutputStream;
+import deflate.ExecutionMode;
+import deflate.TestData;
+import deflate.core.codec.CompressionContext;
+import deflate.core.codec.type.DeflateFormat;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.DataFormatException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class MatchFinderTypeTest {
+
+    @Test
+    void everyFinderAtEveryLevelInflatesWithJdk() throws IOException, DataFormatException {
+        // 블록 셋에 걸친 입력 - 블록 경계를 넘는 윈도우와 탐색기 상태까지 확인
+        byte[] data = TestData.mixed(600_000, 52);
+        for (MatchFinderType type : MatchFinderType.values()) {
+            for (int level = 1; level <= 9; level++) {
+                byte[] compressed = compress(data, level, type, null);
+                assertArrayEquals(data, TestData.inflate(compressed, data.length, true), type + " level " + level);
+            }
+        }
+    }
+
+    @Test
+    void levelDefaultIsUsedUnlessGiven() throws IOException {
+        assertEquals(MatchFinderType.HASH4_CHAIN, CompressionLevel.LEVEL_1.matchFinder);
+        assertEquals(MatchFinderType.DUAL_HASH, CompressionLevel.LEVEL_6.matchFinder);
+        assertEquals(MatchFinderType.BINARY_TREE, CompressionLevel.LEVEL_9.matchFinder);
+
+        byte[] data = TestData.mixed(300_000, 1);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DeflateOutputStream deflater = new DeflateOutputStream(out, 9, DeflateFormat.RAW)) {
+            deflater.write(data);
+        }
+        assertArrayEquals(compress(data, 9, MatchFinderType.BINARY_TREE, null), out.toByteArray());
+    }
+
+    // 작업 스레드가 재사용하는 컨텍스트는 탐색기마다 따로 - 같은 스레드에서 탐색기를 바꾸면 바뀐 탐색기로 압축
+    @Test
+    void threadContextsAreKeptPerFinder() throws IOException {
+        CompressionContext tree = CompressionContext.forCurrentThread(CompressionLevel.LEVEL_9, DeflateFormat.RAW,
+                MatchFinderType.BINARY_TREE);
+        assertSame(tree, CompressionContext.forCurrentThread(CompressionLevel.LEVEL_9, DeflateFormat.RAW));
+        assertNotSame(tree, CompressionContext.forCurrentThread(CompressionLevel.LEVEL_9, DeflateFormat.RAW,
+                MatchFinderType.DUAL_HASH));
+
+        byte[] data = TestData.mixed(600_000, 52);
+        ExecutorService worker = Executors.newSingleThreadExecutor();
+        ExecutorService freshWorker = Executors.newSingleThreadExecutor();
+        try {
+            byte[] treeOutput = compress(data, 9, MatchFinderType.BINARY_TREE, worker);
+            byte[] dualOutput = compress(data, 9, MatchFinderType.DUAL_HASH, worker);
+            assertFalse(Arrays.equals(treeOutput, dualOutput));
+            assertArrayEquals(dualOutput, compress(data, 9, MatchFinderType.DUAL_HASH, freshWorker));
+            assertArrayEquals(treeOutput, compress(data, 9, MatchFinderType.BINARY_TREE, worker));
+        } finally {
+            worker.shutdownNow();
+            freshWorker.shutdownNow();
+        }
+    }
+
+    private static byte[] compress(byte[] data, int level, MatchFinderType type, ExecutorService executor)
+            throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DeflateOutputStream deflater = new DeflateOutputStream(out, level, DeflateFormat.RAW,
+                ParseStrategy.HEURISTIC, type, executor, 1, ExecutionMode.BLOCK_PARALLEL)) {
+            deflater.write(data);
+        }
+        return out.toByteArray();
+    }
+}
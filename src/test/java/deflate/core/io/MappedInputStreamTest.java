@@ -0,0 +1,97 @@
+package deflate.core.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MappedInputStreamTest {
+    private static final int WINDOW = 1000;
+
+    @TempDir
+    Path dir;
+
+    // 창 크기와 맞지 않는 읽기 단위로 여러 창에 걸쳐 읽어도 순서와 위치가 맞음
+    @Test
+    void readsAcrossWindowBoundaries() throws IOException {
+        byte[] data = new byte[WINDOW * 10 + 37];
+        new Random(15).nextBytes(data);
+        Path file = dir.resolve("input");
+        Files.write(file, data);
+
+        try (MappedInputStream in = new MappedInputStream(file, WINDOW)) {
+            assertEquals(data.length, in.size());
+            ByteArrayOutputStream read = new ByteArrayOutputStream();
+            byte[] buffer = new byte[333];
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                read.write(buffer, 0, n);
+                assertEquals(read.size(), in.position());
+            }
+            assertArrayEquals(data, read.toByteArray());
+            assertEquals(-1, in.read());
+        }
+
+        try (MappedInputStream in = new MappedInputStream(file, WINDOW)) {
+            // 한 바이트 읽기로 창 경계를 넘음
+            for (int i = 0; i < WINDOW + 5; i++) {
+                assertEquals(data[i] & 0xFF, in.read(), "byte " + i);
+            }
+            // 창 중간에서 여러 창을 건너뜀
+            assertEquals(WINDOW * 3 + 10, in.skip(WINDOW * 3 + 10));
+            int at = (int) in.position();
+            assertEquals(WINDOW * 4 + 15, at);
+            assertArrayEquals(copy(data, at, WINDOW * 2), in.readNBytes(WINDOW * 2));
+            assertEquals(data.length - in.position(), in.skip(Long.MAX_VALUE));
+            assertEquals(-1, in.read());
+        }
+    }
+
+    // int 범위를 넘는 위치 - 0 으로 채운 성긴 파일에 표식만 써 두고 건너뛰어 읽음
+    @Test
+    void readsPositionsBeyondIntRange() throws IOException {
+        long boundary = Integer.MAX_VALUE + 1L;
+        long size = 3L << 30;
+        byte[] marker = "beyond 2GB".getBytes();
+        byte[] tail = "end of file".getBytes();
+        Path file = dir.resolve("sparse");
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.setLength(size);
+            raf.seek(boundary - marker.length / 2);
+            raf.write(marker);
+            raf.seek(size - tail.length);
+            raf.write(tail);
+        }
+
+        try (MappedInputStream in = new MappedInputStream(file, 1 << 20)) {
+            assertEquals(size, in.size());
+            assertEquals(Integer.MAX_VALUE, in.available());
+            long start = boundary - marker.length / 2 - 3;
+            assertEquals(start, in.skip(start));
+            byte[] read = in.readNBytes(marker.length + 6);
+            assertArrayEquals(new byte[3], copy(read, 0, 3));
+            assertArrayEquals(marker, copy(read, 3, marker.length));
+            assertEquals(start + read.length, in.position());
+
+            in.skip(size - tail.length - in.position());
+            assertEquals(tail.length, in.available());
+            assertArrayEquals(tail, in.readAllBytes());
+            assertEquals(size, in.position());
+            assertEquals(-1, in.read());
+        }
+    }
+
+    private static byte[] copy(byte[] data, int from, int length) {
+        byte[] result = new byte[length];
+        System.arraycopy(data, from, result, 0, length);
+        return result;
+    }
+}
@@ -0,0 +1,63 @@
+package deflate.core.io;
+
+import deflate.core.codec.compressorwriter.StoredWriter;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class OutputStreamTest {
+
+    // 따로 기록한 조각을 이어 붙인 결과는 그 내용을 같은 위치에 직접 기록한 것과 비트 단위로 같음
+    // 조각 안의 저장 블록 정렬은 이어 붙인 위치 기준으로 다시 맞춰지고 빈 블록이 끼어들지 않음
+    @Test
+    void appendedChunkMatchesDirectWrite() throws IOException {
+        for (BitOrder bitOrder : BitOrder.values()) {
+            for (long seed = 0; seed < 200; seed++) {
+                int prefixBits = (int) (seed % 8);
+
+                ByteArrayOutputStream direct = new ByteArrayOutputStream();
+                try (OutputStream out = new OutputStream(direct, bitOrder)) {
+                    out.writeBit(0x5A, prefixBits);
+                    writeChunk(out, seed);
+                }
+
+                ByteArrayOutputStream chunkBytes = new ByteArrayOutputStream();
+                long bitLength;
+                long[] alignments;
+                try (OutputStream chunk = new OutputStream(chunkBytes, bitOrder, true)) {
+                    writeChunk(chunk, seed);
+                    bitLength = chunk.getBitLength();
+                    alignments = chunk.getAlignments();
+                }
+                ByteArrayOutputStream appended = new ByteArrayOutputStream();
+                try (OutputStream out = new OutputStream(appended, bitOrder)) {
+                    out.writeBit(0x5A, prefixBits);
+                    out.writeBits(chunkBytes.toByteArray(), bitLength, alignments);
+                }
+
+                assertArrayEquals(direct.toByteArray(), appended.toByteArray(), bitOrder + " seed " + seed);
+            }
+        }
+    }
+
+    // 임의 길이의 비트와 저장 블록(0 바이트 포함)을 섞어 기록
+    private static void writeChunk(OutputStream out, long seed) throws IOException {
+        Random random = new Random(seed);
+        StoredWriter storedWriter = new StoredWriter();
+        int operations = 1 + random.nextInt(12);
+        for (int i = 0; i < operations; i++) {
+            if (random.nextInt(3) == 0) {
+                byte[] data = new byte[random.nextInt(4) == 0 ? 0 : random.nextInt(100)];
+                random.nextBytes(data);
+                storedWriter.write(data, 0L, out);
+            } else {
+                int length = 1 + random.nextInt(40);
+                out.writeBit(random.nextLong(), length);
+            }
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package deflate.core.io;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReadAheadInputStreamTest {
+    private static final int CHUNK_SIZE = 4096;
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    // 하위 스트림이 조금씩 돌려줘도 조각을 채우고, 마지막 조각이 덜 차면 그 뒤에 -1
+    @Test
+    void readsShortFinalFillThenEndOfStream() throws IOException {
+        byte[] data = random(CHUNK_SIZE * 3 + 1234, 1);
+        try (ReadAheadInputStream in = new ReadAheadInputStream(new Trickle(data, 1000), CHUNK_SIZE)) {
+            assertArrayEquals(data, in.readAllBytes());
+            assertEquals(-1, in.read());
+            assertEquals(-1, in.read(new byte[16], 0, 16));
+        }
+    }
+
+    @Test
+    void emptyInputEndsImmediately() throws IOException {
+        try (ReadAheadInputStream in = new ReadAheadInputStream(new ByteArrayInputStream(new byte[0]), CHUNK_SIZE)) {
+            assertEquals(-1, in.read());
+            assertEquals(0, in.available());
+        }
+    }
+
+    // 전용 스레드의 읽기 실패는 그 조각을 기다리는 호출자에게 그대로 전달
+    @Test
+    void underlyingFailureSurfacesOnRead() throws IOException {
+        IOException failure = new IOException("disk gone");
+        byte[] data = random(CHUNK_SIZE + 100, 2);
+        try (ReadAheadInputStream in = new ReadAheadInputStream(new Failing(data, failure), CHUNK_SIZE)) {
+            byte[] first = new byte[CHUNK_SIZE];
+            assertEquals(CHUNK_SIZE, in.readNBytes(first, 0, CHUNK_SIZE));
+            IOException thrown = assertThrows(IOException.class, () -> in.readNBytes(CHUNK_SIZE));
+            assertSame(failure, thrown);
+        }
+    }
+
+    @Test
+    void uncheckedFailureIsWrapped() throws IOException {
+        IllegalStateException failure = new IllegalStateException("broken");
+        try (ReadAheadInputStream in = new ReadAheadInputStream(new Failing(new byte[0], failure), CHUNK_SIZE)) {
+            IOException thrown = assertThrows(IOException.class, in::read);
+            assertSame(failure, thrown.getCause());
+        }
+    }
+
+    // 선읽기가 하위 스트림에서 막혀 있어도 close 는 기다리지 않고 읽기 스레드를 끊음
+    @Test
+    void closeInterruptsPrefetchInFlight() throws Exception {
+        Blocking blocking = new Blocking();
+        ReadAheadInputStream in = new ReadAheadInputStream(blocking, CHUNK_SIZE);
+        blocking.entered.await();
+        assertTimeoutPreemptively(TIMEOUT, in::close);
+        assertTimeoutPreemptively(TIMEOUT, () -> blocking.interrupted.await());
+        assertTrue(blocking.closed);
+        assertThrows(IOException.class, in::read);
+        in.close();
+    }
+
+    private static byte[] random(int size, long seed) {
+        byte[] data = new byte[size];
+        new Random(seed).nextBytes(data);
+        return data;
+    }
+
+    // 한 번에 최대 step 바이트만 돌려주는 입력
+    private static final class Trickle extends ByteArrayInputStream {
+        private final int step;
+
+        Trickle(byte[] data, int step) {
+            super(data);
+            this.step = step;
+        }
+
+        @Override
+        public synchronized int read(byte[] b, int off, int len) {
+            return super.read(b, off, Math.min(len, step));
+        }
+    }
+
+    // data 를 다 돌려준 뒤 failure 를 던지는 입력
+    private static final class Failing extends java.io.InputStream {
+        private final byte[] data;
+        private final Exception failure;
+        private int position;
+
+        Failing(byte[] data, Exception failure) {
+            this.data = data;
+            this.failure = failure;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) == -1 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (position == data.length) {
+                if (failure instanceof IOException) {
+                    throw (IOException) failure;
+                }
+                throw (RuntimeException) failure;
+            }
+            int chunk = Math.min(len, data.length - position);
+            System.arraycopy(data, position, b, off, chunk);
+            position += chunk;
+            return chunk;
+        }
+    }
+
+    // 인터럽트될 때까지 읽기에서 막히는 입력
+    private static final class Blocking extends java.io.InputStream {
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch interrupted = new CountDownLatch(1);
+        private volatile boolean closed;
+
+        @Override
+        public int read() throws IOException {
+            return read(new byte[1], 0, 1);
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            entered.countDown();
+            try {
+                new CountDownLatch(1).await();
+                return -1;
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw new InterruptedIOException();
+            }
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
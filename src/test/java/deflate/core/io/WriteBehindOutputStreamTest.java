@@ -0,0 +1,103 @@
+package deflate.core.io;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WriteBehindOutputStreamTest {
+    private static final int BUFFER_SIZE = 4096;
+
+    // 버퍼 경계를 여러 번 넘는 쓰기와 한 바이트 쓰기가 순서대로 하위 스트림에 도착
+    @Test
+    void writesInOrderAcrossBuffers() throws IOException {
+        byte[] data = new byte[BUFFER_SIZE * 5 + 123];
+        new Random(3).nextBytes(data);
+        ByteArrayOutputStream sink = new ByteArrayOutputStream();
+        try (WriteBehindOutputStream out = new WriteBehindOutputStream(sink, BUFFER_SIZE)) {
+            out.write(data, 0, 1000);
+            for (int i = 1000; i < 1100; i++) {
+                out.write(data[i]);
+            }
+            out.write(data, 1100, data.length - 1100);
+            out.flush();
+            assertArrayEquals(data, sink.toByteArray());
+        }
+        assertArrayEquals(data, sink.toByteArray());
+    }
+
+    // 전용 스레드의 쓰기 실패는 flush 에서 드러남
+    @Test
+    void failureSurfacesOnFlush() throws IOException {
+        IOException failure = new IOException("disk full");
+        Failing sink = new Failing(failure);
+        WriteBehindOutputStream out = new WriteBehindOutputStream(sink, BUFFER_SIZE);
+        out.write(new byte[BUFFER_SIZE * 2]);
+        assertSame(failure, assertThrows(IOException.class, out::flush));
+        // 내보내지 못한 버퍼는 close 에서 다시 시도하므로 같은 실패가 다시 드러남
+        assertSame(failure, assertThrows(IOException.class, out::close));
+        assertTrue(sink.closed);
+    }
+
+    // 버퍼에만 남아 있던 바이트의 쓰기 실패도 close 에서 드러나고, 하위 스트림은 그래도 닫힘
+    @Test
+    void failureSurfacesOnClose() {
+        IOException failure = new IOException("disk full");
+        Failing sink = new Failing(failure);
+        WriteBehindOutputStream out = new WriteBehindOutputStream(sink, BUFFER_SIZE);
+        assertSame(failure, assertThrows(IOException.class, () -> {
+            out.write(new byte[100]);
+            out.close();
+        }));
+        assertTrue(sink.closed);
+        assertThrows(IOException.class, () -> out.write(1));
+    }
+
+    @Test
+    void uncheckedFailureIsWrapped() throws IOException {
+        IllegalStateException failure = new IllegalStateException("broken");
+        Failing sink = new Failing(failure);
+        WriteBehindOutputStream out = new WriteBehindOutputStream(sink, BUFFER_SIZE);
+        out.write(new byte[10]);
+        assertSame(failure, assertThrows(IOException.class, out::flush).getCause());
+        assertEquals(1, sink.writes);
+        out.close();
+    }
+
+    // 모든 쓰기에서 failure 를 던지는 출력
+    private static final class Failing extends java.io.OutputStream {
+        private final Exception failure;
+        private volatile int writes;
+        private volatile boolean closed;
+
+        Failing(Exception failure) {
+            this.failure = failure;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            writes++;
+            if (failure instanceof IOException) {
+                throw (IOException) failure;
+            }
+            throw (RuntimeException) failure;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
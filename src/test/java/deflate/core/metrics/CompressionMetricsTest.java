@@ -0,0 +1,140 @@
+package deflate.core.metrics;
+
+import deflate.DeflateOutputStream;
+import deflate.TestData;
+import deflate.core.codec.type.DeflateFormat;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 통계는 프로세스 전체에서 하나이므로 압축 전후 차이로 확인
+class CompressionMetricsTest {
+    private static final int SIZE = 600_000;
+
+    private final CompressionMetrics metrics = CompressionMetrics.getInstance();
+
+    @Test
+    void compressionMovesCountersAndHistograms() throws IOException {
+        long blocks = metrics.getBlocks();
+        long bytesIn = metrics.getBytesIn();
+        long bytesOut = metrics.getBytesOut();
+        long literals = metrics.getLiteralCount();
+        long matches = metrics.getMatchCount();
+        long chainSteps = metrics.getChainSteps();
+        long[] matchLengths = metrics.getMatchLengthHistogram();
+        long[] distances = metrics.getDistanceHistogram();
+        long[] blockLatency = metrics.getBlockLatencyHistogram();
+        long[] lz77Latency = metrics.getLz77LatencyHistogram();
+
+        byte[] compressed = compress(TestData.mixed(SIZE, 21));
+
+        // 256KB 입력 블록 세 개
+        assertEquals(3, metrics.getBlocks() - blocks);
+        assertEquals(SIZE, metrics.getBytesIn() - bytesIn);
+        // 블록마다 비트 수를 바이트로 올림하므로 블록 수만큼 클 수 있음
+        long written = metrics.getBytesOut() - bytesOut;
+        assertTrue(Math.abs(written - compressed.length) <= 3, "bytesOut " + written + " vs " + compressed.length);
+        assertTrue(metrics.getLiteralCount() > literals);
+        long newMatches = metrics.getMatchCount() - matches;
+        assertTrue(newMatches > 0);
+        assertTrue(metrics.getChainSteps() > chainSteps);
+        assertEquals(newMatches, sum(metrics.getMatchLengthHistogram()) - sum(matchLengths));
+        assertEquals(newMatches, sum(metrics.getDistanceHistogram()) - sum(distances));
+        assertEquals(3, sum(metrics.getBlockLatencyHistogram()) - sum(blockLatency));
+        assertEquals(3, sum(metrics.getLz77LatencyHistogram()) - sum(lz77Latency));
+    }
+
+    @Test
+    void incompressibleBlocksCountAsStored() throws IOException {
+        byte[] data = new byte[SIZE];
+        new Random(21).nextBytes(data);
+        long stored = metrics.getStoredBlocks();
+        compress(data);
+        assertEquals(3, metrics.getStoredBlocks() - stored);
+    }
+
+    @Test
+    void mxBeanIsReadableThroughPlatformServer() throws IOException, JMException {
+        CompressionMetrics.registerMBean();
+        // 두 번 등록해도 실패하지 않음
+        CompressionMetrics.registerMBean();
+        compress(TestData.mixed(SIZE, 22));
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(CompressionMetrics.OBJECT_NAME);
+        assertTrue(server.isRegistered(name));
+        assertEquals(true, server.getAttribute(name, "Enabled"));
+        assertEquals(metrics.getBlocks(), server.getAttribute(name, "Blocks"));
+        assertEquals(metrics.getBytesIn(), server.getAttribute(name, "BytesIn"));
+        assertEquals(metrics.getChainSteps(), server.getAttribute(name, "ChainSteps"));
+        assertArrayEquals(metrics.getMatchLengthHistogram(), (long[]) server.getAttribute(name, "MatchLengthHistogram"));
+    }
+
+    @Test
+    void disabledAtRuntimeRecordsNothing() throws IOException {
+        metrics.setEnabled(false);
+        try {
+            long blocks = metrics.getBlocks();
+            long bytesIn = metrics.getBytesIn();
+            long matches = metrics.getMatchCount();
+            compress(TestData.mixed(SIZE, 23));
+            assertEquals(blocks, metrics.getBlocks());
+            assertEquals(bytesIn, metrics.getBytesIn());
+            assertEquals(matches, metrics.getMatchCount());
+        } finally {
+            metrics.setEnabled(true);
+        }
+    }
+
+    // 시스템 속성은 클래스를 처음 올릴 때 읽으므로 새 JVM 에서 확인
+    @Test
+    void disabledPropertyTurnsRecordingOff() throws IOException, InterruptedException {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        Process process = new ProcessBuilder(java, "-Ddeflate.metrics.disabled=true",
+                "-cp", System.getProperty("java.class.path"), DisabledProcess.class.getName())
+                .redirectErrorStream(true)
+                .start();
+        assertTrue(process.waitFor(60, TimeUnit.SECONDS), "child JVM timed out");
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+        assertEquals(0, process.exitValue(), output);
+        assertEquals("enabled=false blocks=0 bytesIn=0 matches=0", output);
+    }
+
+    static final class DisabledProcess {
+        public static void main(String[] args) throws IOException {
+            compress(TestData.mixed(SIZE, 24));
+            CompressionMetrics metrics = CompressionMetrics.getInstance();
+            System.out.println("enabled=" + metrics.isEnabled() + " blocks=" + metrics.getBlocks()
+                    + " bytesIn=" + metrics.getBytesIn() + " matches=" + metrics.getMatchCount());
+        }
+    }
+
+    private static byte[] compress(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DeflateOutputStream deflater = new DeflateOutputStream(out, 6, DeflateFormat.RAW)) {
+            deflater.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    private static long sum(long[] histogram) {
+        long sum = 0;
+        for (long count : histogram) {
+            sum += count;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,155 @@
+package deflate.seekable;
+
+import deflate.Deflate;
+import deflate.TestData;
+import deflate.core.codec.type.DeflateFormat;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SeekableDecompressorTest {
+    private static final int BLOCK_SIZE = 4096;
+    private static final int PARALLELISM = 4;
+
+    private static ExecutorService executor;
+
+    @TempDir
+    Path dir;
+
+    @BeforeAll
+    static void startExecutor() {
+        executor = Executors.newFixedThreadPool(PARALLELISM);
+    }
+
+    @AfterAll
+    static void stopExecutor() {
+        executor.shutdownNow();
+    }
+
+    @ParameterizedTest
+    @EnumSource(DeflateFormat.class)
+    void roundTripsIndexedFiles(DeflateFormat format) throws IOException {
+        byte[] large = TestData.mixed(SeekableCompressor.DEFAULT_BLOCK_SIZE * 2 + 12_345, 5);
+        for (byte[] data : new byte[][]{new byte[0], {42}, large}) {
+            Path input = write("input", data);
+            Deflate deflate = new Deflate(6, format);
+            deflate.compressIndexed(input.toString(), dir.resolve("indexed").toString());
+            deflate.decompressIndexed(dir.resolve("indexed").toString(), dir.resolve("restored").toString());
+            assertArrayEquals(data, Files.readAllBytes(dir.resolve("restored")), format + " " + data.length + " bytes");
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(DeflateFormat.class)
+    void roundTripsIndexedFilesOnWorkerPool(DeflateFormat format) throws IOException {
+        byte[] large = TestData.mixed(SeekableCompressor.DEFAULT_BLOCK_SIZE * 3 + 777, 6);
+        for (byte[] data : new byte[][]{new byte[0], {42}, large}) {
+            Path input = write("input", data);
+            Deflate deflate = new Deflate(6, format, executor, PARALLELISM);
+            deflate.compressIndexed(input.toString(), dir.resolve("indexed").toString());
+            deflate.decompressIndexed(dir.resolve("indexed").toString(), dir.resolve("restored").toString());
+            assertArrayEquals(data, Files.readAllBytes(dir.resolve("restored")), format + " " + data.length + " bytes");
+        }
+    }
+
+    // 진행 중인 블록 한도 (parallelism * 2) 보다 블록이 훨씬 많아도 순서대로 기록
+    @Test
+    void decompressesManyBlocksInOrder() throws IOException {
+        byte[] data = TestData.mixed(BLOCK_SIZE * 100 + 1, 8);
+        Path compressed = compress(data, DeflateFormat.RAW);
+        try (SeekableDecompressor in = new SeekableDecompressor(compressed.toString())) {
+            in.decompress(dir.resolve("parallel").toString(), executor, PARALLELISM);
+            in.decompress(dir.resolve("sequential").toString());
+        }
+        assertArrayEquals(data, Files.readAllBytes(dir.resolve("parallel")));
+        assertArrayEquals(data, Files.readAllBytes(dir.resolve("sequential")));
+    }
+
+    // 블록 색인대로 원본 전체를 임의 읽기로 복원
+    @ParameterizedTest
+    @EnumSource(DeflateFormat.class)
+    void readsWholeFile(DeflateFormat format) throws IOException {
+        int blockSize = SeekableCompressor.DEFAULT_BLOCK_SIZE;
+        byte[] large = TestData.mixed(blockSize * 2 + 12_345, 5);
+        for (byte[] data : new byte[][]{new byte[0], {42}, large}) {
+            Path input = write("input", data);
+            Path output = dir.resolve("compressed");
+            new SeekableCompressor(6, format, blockSize).compress(input.toString(), output.toString());
+            try (SeekableDecompressor in = new SeekableDecompressor(output.toString())) {
+                assertEquals((data.length + blockSize - 1) / blockSize, in.getIndex().getCount());
+                assertArrayEquals(data, in.read(0, (int) in.size()), format + " " + data.length + " bytes");
+            }
+        }
+    }
+
+    // 캐시를 두 블록으로 줄여 읽을 때마다 블록을 버리고 다시 풀게 하고, 길이는 블록 여러 개를 넘나들게 함
+    @ParameterizedTest
+    @EnumSource(DeflateFormat.class)
+    void readsRandomRangesAcrossBlocks(DeflateFormat format) throws IOException {
+        byte[] data = TestData.mixed(BLOCK_SIZE * 50 + 123, 9);
+        Path compressed = compress(data, format);
+        Random random = new Random(1);
+        try (SeekableDecompressor in = new SeekableDecompressor(compressed.toString(), 2)) {
+            assertEquals(data.length, in.size());
+            assertEquals(51, in.getIndex().getCount());
+            for (int i = 0; i < 2000; i++) {
+                int position = random.nextInt(data.length);
+                int length = random.nextInt(BLOCK_SIZE * 3);
+                assertRange(data, in, position, length);
+            }
+            // 블록 경계 바로 앞뒤와 파일 끝
+            for (int block = 1; block <= 50; block++) {
+                assertRange(data, in, block * BLOCK_SIZE - 1, 2);
+                assertRange(data, in, block * BLOCK_SIZE, BLOCK_SIZE);
+            }
+            assertRange(data, in, data.length - 10, 100);
+            assertEquals(-1, in.read(data.length, new byte[1], 0, 1));
+            assertEquals(0, in.read(data.length, 10).length);
+        }
+    }
+
+    @Test
+    void readsEmptyFile() throws IOException {
+        Path compressed = compress(new byte[0], DeflateFormat.RAW);
+        try (SeekableDecompressor in = new SeekableDecompressor(compressed.toString())) {
+            assertEquals(0, in.size());
+            assertEquals(0, in.getIndex().getCount());
+            assertEquals(-1, in.read(0, new byte[1], 0, 1));
+            assertEquals(0, in.read(0, 1).length);
+        }
+    }
+
+    private static void assertRange(byte[] data, SeekableDecompressor in, int position, int length) throws IOException {
+        byte[] expected = Arrays.copyOfRange(data, position, Math.min(data.length, position + length));
+        byte[] dest = new byte[length + 2];
+        int read = in.read(position, dest, 1, length);
+        assertEquals(expected.length, read, "read at " + position);
+        assertArrayEquals(expected, Arrays.copyOfRange(dest, 1, 1 + read), "read at " + position);
+        assertArrayEquals(expected, in.read(position, length), "read at " + position);
+    }
+
+    private Path compress(byte[] data, DeflateFormat format) throws IOException {
+        Path input = write("input", data);
+        Path output = dir.resolve("compressed");
+        new SeekableCompressor(6, format, BLOCK_SIZE).compress(input.toString(), output.toString());
+        return output;
+    }
+
+    private Path write(String name, byte[] data) throws IOException {
+        return Files.write(dir.resolve(name), data);
+    }
+}